@@ -15,11 +15,15 @@
  */
 package com.bramosystems.oss.player.core.client;
 
+import com.bramosystems.oss.player.core.client.impl.CoalescingDispatcher;
+import com.bramosystems.oss.player.core.client.impl.DebugPolicy;
 import com.bramosystems.oss.player.core.client.impl.plugin.PlayerManager;
 import com.bramosystems.oss.player.core.event.client.*;
 import com.bramosystems.oss.player.core.client.spi.PlayerProviderFactory;
+import com.google.gwt.core.client.GWT;
 import com.google.gwt.core.client.Scheduler;
 import com.google.gwt.event.dom.client.*;
+import com.google.gwt.event.shared.GwtEvent;
 import com.google.gwt.event.shared.HandlerRegistration;
 import com.google.gwt.user.client.Command;
 import com.google.gwt.user.client.ui.Composite;
@@ -38,8 +42,18 @@ public abstract class AbstractMediaPlayer extends Composite implements HasMediaS
         HasMouseMoveHandlers, HasMouseDownHandlers, HasMouseUpHandlers, HasKeyDownHandlers,
         HasKeyUpHandlers, HasKeyPressHandlers {
 
+    private static final DebugPolicy debugPolicy = GWT.create(DebugPolicy.class);
     private HashMap<String, Command> readyCmdQueue;
     private ArrayList<String> cmdKeys;
+    private CoalescingDispatcher progressDispatcher = new CoalescingDispatcher() {
+
+        @Override
+        protected void dispatch(double progress) {
+            LoadingProgressEvent.fire(AbstractMediaPlayer.this, progress);
+        }
+    };
+    private int[] debugHandlerCounts = new int[DebugEvent.MessageType.values().length];
+    private AbstractMediaPlayer eventWrapper;
 
     /**
      * Constructor method.
@@ -200,7 +214,52 @@ public abstract class AbstractMediaPlayer extends Composite implements HasMediaS
      * @see DebugEvent
      */
     protected final void fireDebug(String message) {
-        DebugEvent.fire(this, DebugEvent.MessageType.Info, message);
+        if (isDebugEnabled(DebugEvent.MessageType.Info)) {
+            DebugEvent.fire(this, DebugEvent.MessageType.Info, message);
+        }
+    }
+
+    /**
+     * Convenience method to fire <code>DebugEvent</code>'s with informational messages
+     * on registered handlers.  The message is formatted only if a handler receives
+     * informational messages.
+     *
+     * @param pattern the message pattern, with <code>{n}</code> placeholders for the arguments
+     * @param args the message arguments
+     * @see DebugEvent#formatMessage(String, Object[])
+     * @since 2.0.4
+     */
+    protected final void fireDebug(String pattern, Object... args) {
+        if (isDebugEnabled(DebugEvent.MessageType.Info)) {
+            DebugEvent.fire(this, DebugEvent.MessageType.Info, DebugEvent.formatMessage(pattern, args));
+        }
+    }
+
+    /**
+     * Checks if messages of the specified type reach any registered debug handler.
+     *
+     * <p>Informational messages never do if the <code>bstplayer.enableDebug</code> property
+     * is <code>false</code>; debug code guarded by this method is then removed by the compiler.
+     * Messages that are expensive to build should be guarded by this method.
+     *
+     * @param type the type of message
+     * @return {@code true} if the messages are handled, {@code false} otherwise
+     * @since 2.0.4
+     */
+    public final boolean isDebugEnabled(DebugEvent.MessageType type) {
+        if (type == DebugEvent.MessageType.Info && !debugPolicy.isEnabled()) {
+            return false;
+        }
+        // handlers of a type receive the types declared before it, handlers of wrapping
+        // players receive the messages of this player ...
+        for (AbstractMediaPlayer p = this; p != null; p = p.eventWrapper) {
+            for (int i = type.ordinal(); i < p.debugHandlerCounts.length; i++) {
+                if (p.debugHandlerCounts[i] > 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
     /**
@@ -210,7 +269,39 @@ public abstract class AbstractMediaPlayer extends Composite implements HasMediaS
      * @see LoadingProgressEvent
      */
     protected final void fireLoadingProgress(double progress) {
-        LoadingProgressEvent.fire(this, progress);
+        if (progress >= 1.0) {
+            progressDispatcher.postNow(progress);   // supersedes any coalesced value ...
+        } else {
+            progressDispatcher.post(progress);
+        }
+    }
+
+    /**
+     * Sets how <code>LoadingProgressEvent</code>'s are delivered to registered handlers.
+     *
+     * <p>Plugins may report loading progress many times per second.  By default, progress
+     * values are coalesced and delivered at most once per animation frame with the latest value
+     * only.  A positive {@code interval} delivers at most once per {@code interval} milliseconds
+     * instead, and a negative {@code interval} delivers every value as it is reported.  A
+     * completed progress ({@code 1.0}) is always delivered immediately.
+     *
+     * @param interval the coalescing interval in milliseconds, {@code 0} to coalesce per
+     * animation frame or a negative value to disable coalescing
+     * @since 2.0.4
+     */
+    public void setLoadingProgressInterval(int interval) {
+        progressDispatcher.setInterval(interval);
+    }
+
+    /**
+     * Returns the coalescing interval of <code>LoadingProgressEvent</code>'s
+     *
+     * @return the interval in milliseconds
+     * @see #setLoadingProgressInterval(int)
+     * @since 2.0.4
+     */
+    public int getLoadingProgressInterval() {
+        return progressDispatcher.getInterval();
     }
 
     /**
@@ -367,7 +458,99 @@ public abstract class AbstractMediaPlayer extends Composite implements HasMediaS
      */
     @Override
     public final HandlerRegistration addDebugHandler(DebugHandler handler) {
-        return addHandler(handler, DebugEvent.TYPE);
+        return addDebugHandler(handler, DebugEvent.MessageType.Info);
+    }
+
+    /**
+     * Adds the specified debug handler to the player for messages of the specified
+     * {@code level}.  Handlers of the <code>Info</code> level receive all messages, handlers
+     * of the <code>Error</code> level receive error messages only.
+     *
+     * @param handler the handler
+     * @param level the level of messages to receive
+     * @return the HandlerRegistration used to remove the handler
+     * @see #isDebugEnabled(DebugEvent.MessageType)
+     * @since 2.0.4
+     */
+    public final HandlerRegistration addDebugHandler(final DebugHandler handler, final DebugEvent.MessageType level) {
+        final HandlerRegistration hr = addHandler(level == DebugEvent.MessageType.Info ? handler
+                : new DebugHandler() {
+
+            @Override
+            public void onDebug(DebugEvent event) {
+                if (event.getMessageType().ordinal() <= level.ordinal()) {
+                    handler.onDebug(event);
+                }
+            }
+        }, DebugEvent.TYPE);
+        debugHandlerCounts[level.ordinal()]++;
+        return new HandlerRegistration() {
+
+            private boolean removed;
+
+            @Override
+            public void removeHandler() {
+                if (!removed) {
+                    removed = true;
+                    debugHandlerCounts[level.ordinal()]--;
+                    hr.removeHandler();
+                }
+            }
+        };
+    }
+
+    /**
+     * Makes this player the wrapper of the specified {@code player}.  The debug, loading progress,
+     * media info, play-state and player-state events of the wrapped player are dispatched to the
+     * handlers of this player as well, with this player as the source of the event.
+     *
+     * <p>This method should be called by players that wrap another player, such as custom
+     * players, instead of forwarding the events of the wrapped player with handlers of their own.
+     * The events are then dispatched once to each player, and the debug handlers of this player
+     * are considered by {@link #isDebugEnabled(DebugEvent.MessageType)} of the wrapped player.
+     *
+     * @param player the wrapped player
+     * @see #isWrappedEventDispatched(GwtEvent)
+     * @since 2.0.4
+     */
+    protected final void wrapEvents(AbstractMediaPlayer player) {
+        player.eventWrapper = this;
+    }
+
+    /**
+     * Checks if the specified event of the wrapped player should be dispatched to the handlers
+     * of this player.
+     *
+     * <p>This implementation returns {@code true}.  Subclasses may override this method to
+     * handle some events of the wrapped player themselves.
+     *
+     * @param event the event of the wrapped player
+     * @return {@code true} to dispatch the event to the handlers of this player, {@code false}
+     * otherwise
+     * @see #wrapEvents(AbstractMediaPlayer)
+     * @since 2.0.4
+     */
+    protected boolean isWrappedEventDispatched(GwtEvent<?> event) {
+        return true;
+    }
+
+    /**
+     * Dispatches the event to the handlers of this player, and of the wrapping player if
+     * the event is a media event
+     *
+     * @param event the event
+     */
+    @Override
+    public void fireEvent(GwtEvent<?> event) {
+        super.fireEvent(event);
+        if (eventWrapper != null) {
+            GwtEvent.Type<?> type = event.getAssociatedType();
+            if ((type == DebugEvent.TYPE || type == LoadingProgressEvent.TYPE || type == MediaInfoEvent.TYPE
+                    || type == PlayStateEvent.TYPE || type == PlayerStateEvent.TYPE)
+                    && eventWrapper.isWrappedEventDispatched(event)) {
+                eventWrapper.fireEvent(event);
+            }
+        }
     }
 
     /**
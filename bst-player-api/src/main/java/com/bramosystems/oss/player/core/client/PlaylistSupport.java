@@ -73,7 +73,8 @@ public interface PlaylistSupport {
     public void addToPlaylist(MRL mediaLocator);
 
     /**
-     * Adds the media locators to the players' playlist.  
+     * Adds the media locators to the players' playlist.  The locators are added in a
+     * single step.
      * 
      * @param mediaLocators list of alternative URLs of the same media
      * @since 1.3
@@ -87,11 +88,30 @@ public interface PlaylistSupport {
      */
     public void removeFromPlaylist(int index);
 
+    /**
+     * Removes the entries from index {@code fromIndex}, inclusive, to {@code toIndex},
+     * exclusive, from the players' playlist in a single step.
+     *
+     * @param fromIndex the index of the first entry to remove
+     * @param toIndex the index after the last entry to remove
+     * @since 2.0.4
+     */
+    public void removeFromPlaylist(int fromIndex, int toIndex);
+
     /**
      * Removes all entries in the players' playlist
      */
     public void clearPlaylist();
 
+    /**
+     * Replaces all entries in the players' playlist with the media locators in a
+     * single step.
+     *
+     * @param mediaLocators list of alternative URLs of the same media
+     * @since 2.0.4
+     */
+    public void replacePlaylist(List<MRL> mediaLocators);
+
     /**
      * Plays the next item in the playlist
      *
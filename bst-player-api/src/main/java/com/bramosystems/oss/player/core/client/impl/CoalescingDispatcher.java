@@ -0,0 +1,145 @@
+/*
+ * Copyright 2011 Sikirulai Braheem <sbraheem at bramosystems.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bramosystems.oss.player.core.client.impl;
+
+import com.google.gwt.animation.client.AnimationScheduler;
+import com.google.gwt.user.client.Timer;
+
+/**
+ * Dispatches high-frequency values, such as loading progress or playback position, at a
+ * limited rate.
+ *
+ * <p>Values posted with {@link #post(double)} are coalesced: the latest value is dispatched
+ * at most once per animation frame (interval {@code 0}, the default) or once per interval
+ * (positive interval), and superseded values are dropped.  A negative interval dispatches every
+ * value as it is posted.  Values posted with {@link #postNow(double)}, such as a terminal
+ * value, are dispatched immediately and supersede any pending value.
+ *
+ * @author Sikirulai Braheem <sbraheem at bramosystems.com>
+ * @since 2.0.4
+ */
+public abstract class CoalescingDispatcher {
+
+    private int interval;
+    private double pending;
+    private boolean hasPending, scheduled;
+    private Timer timer;
+
+    /**
+     * Creates a dispatcher that coalesces values per animation frame
+     */
+    public CoalescingDispatcher() {
+        this(0);
+    }
+
+    /**
+     * Creates a dispatcher with the specified interval
+     *
+     * @param interval the coalescing interval in milliseconds, {@code 0} to coalesce per
+     * animation frame or a negative value to disable coalescing
+     */
+    public CoalescingDispatcher(int interval) {
+        this.interval = interval;
+    }
+
+    /**
+     * Called to deliver a value
+     *
+     * @param value the value
+     */
+    protected abstract void dispatch(double value);
+
+    /**
+     * Posts the value for a coalesced dispatch
+     *
+     * @param value the value
+     */
+    public void post(double value) {
+        if (interval < 0) {
+            dispatch(value);
+            return;
+        }
+        pending = value;
+        hasPending = true;
+        if (!scheduled) {
+            scheduled = true;
+            if (interval == 0) {
+                AnimationScheduler.get().requestAnimationFrame(new AnimationScheduler.AnimationCallback() {
+
+                    @Override
+                    public void execute(double timestamp) {
+                        flush();
+                    }
+                });
+            } else {
+                if (timer == null) {
+                    timer = new Timer() {
+
+                        @Override
+                        public void run() {
+                            flush();
+                        }
+                    };
+                }
+                timer.schedule(interval);
+            }
+        }
+    }
+
+    /**
+     * Dispatches the value immediately.  Any pending value is dropped.
+     *
+     * @param value the value
+     */
+    public void postNow(double value) {
+        hasPending = false;   // superseded ...
+        dispatch(value);
+    }
+
+    /**
+     * Dispatches the pending value, if any, immediately
+     */
+    public void flush() {
+        scheduled = false;
+        if (hasPending) {
+            hasPending = false;
+            dispatch(pending);
+        }
+    }
+
+    /**
+     * Sets the coalescing interval.  Any pending value is dispatched if coalescing
+     * is disabled.
+     *
+     * @param interval the coalescing interval in milliseconds, {@code 0} to coalesce per
+     * animation frame or a negative value to disable coalescing
+     */
+    public void setInterval(int interval) {
+        this.interval = interval;
+        if (interval < 0) {
+            flush();
+        }
+    }
+
+    /**
+     * Returns the coalescing interval
+     *
+     * @return the interval in milliseconds
+     */
+    public int getInterval() {
+        return interval;
+    }
+}
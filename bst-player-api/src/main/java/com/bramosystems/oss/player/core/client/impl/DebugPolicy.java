@@ -0,0 +1,49 @@
+/*
+ * Copyright 2011 Sikirulai Braheem <sbraheem at bramosystems.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bramosystems.oss.player.core.client.impl;
+
+/**
+ * Compile-time switch for informational debug messages, bound by the
+ * {@code bstplayer.enableDebug} deferred binding property.
+ *
+ * <p>The methods return constants such that the compiler removes debug code guarded
+ * by them from permutations where debugging is disabled.
+ *
+ * @author Sikirulai Braheem <sbraheem at bramosystems.com>
+ * @since 2.0.4
+ */
+public class DebugPolicy {
+
+    /**
+     * Checks if informational debug messages are compiled in
+     *
+     * @return {@code true} if {@code bstplayer.enableDebug} is {@code true}, {@code false} otherwise
+     */
+    public boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Policy used when {@code bstplayer.enableDebug} is {@code false}
+     */
+    public static class NullDebugPolicy extends DebugPolicy {
+
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+    }
+}
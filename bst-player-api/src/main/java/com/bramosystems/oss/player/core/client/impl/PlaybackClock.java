@@ -0,0 +1,238 @@
+/*
+ * Copyright 2011 Sikirulai Braheem <sbraheem at bramosystems.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bramosystems.oss.player.core.client.impl;
+
+import com.google.gwt.core.client.Duration;
+import com.google.gwt.core.client.GWT;
+import com.google.gwt.user.client.Timer;
+import java.util.ArrayList;
+
+/**
+ * Shared clock for the polling tasks of players and player controls.
+ *
+ * <p>All tasks run off a single timer.  Due times are aligned to multiples of the task
+ * period, such that tasks with the same period run in the same wake-up irrespective of
+ * when they are started.  A task that reports no change has its period doubled, up to
+ * {@value #MAX_BACKOFF} times the requested period, and is back at the requested period
+ * as soon as it reports a change.
+ *
+ * <p>The clock is suspended while the page is hidden (if the browser supports the Page
+ * Visibility API).  Tasks that must keep running in a hidden page, such as the state
+ * polling of a plugin, can opt in with {@link Task#setRunWhenHidden(boolean)}; they run
+ * at most once per second until the page is visible again.  All tasks are run once as
+ * soon as the page is visible again.
+ *
+ * @author Sikirulai Braheem <sbraheem at bramosystems.com>
+ * @since 2.0.4
+ */
+public class PlaybackClock {
+
+    /**
+     * The maximum factor by which the period of an unchanging task is stretched
+     */
+    public static final int MAX_BACKOFF = 4;
+    private static final int QUANTUM = 20, HIDDEN_PERIOD = 1000;
+    private static PlaybackClock instance;
+    private ArrayList<Task> tasks;
+    private Timer timer;
+    private double timerDue;
+    private boolean hidden;
+
+    private PlaybackClock() {
+        tasks = new ArrayList<Task>();
+        timer = new Timer() {
+
+            @Override
+            public void run() {
+                timerDue = 0;
+                tick();
+            }
+        };
+        initVisibilityHandler();
+    }
+
+    static PlaybackClock get() {
+        if (instance == null) {
+            instance = new PlaybackClock();
+        }
+        return instance;
+    }
+
+    /**
+     * Checks if the page is hidden
+     *
+     * @return {@code true} if the page is hidden, {@code false} otherwise
+     */
+    public static boolean isPageHidden() {
+        return get().hidden;
+    }
+
+    private void tick() {
+        double now = Duration.currentTimeMillis();
+        for (Task t : new ArrayList<Task>(tasks)) {
+            if (!t.running || t.due > now + QUANTUM || (hidden && !t.runWhenHidden)) {
+                continue;
+            }
+            boolean changed = true;
+            try {
+                changed = t.run();
+            } catch (Throwable e) {   // a failing task must not stop the others ...
+                GWT.UncaughtExceptionHandler h = GWT.getUncaughtExceptionHandler();
+                if (h != null) {
+                    h.onUncaughtException(e);
+                }
+            }
+            t.backOff = changed ? 1 : Math.min(t.backOff * 2, MAX_BACKOFF);
+            if (t.running) {
+                t.due = align(now, t.period * t.backOff);
+            }
+        }
+        schedule();
+    }
+
+    private void schedule() {
+        double next = Double.MAX_VALUE;
+        for (Task t : tasks) {
+            if (!hidden || t.runWhenHidden) {
+                next = Math.min(next, t.due);
+            }
+        }
+        if (next == Double.MAX_VALUE) {
+            timer.cancel();
+            timerDue = 0;
+        } else if (timerDue == 0 || next < timerDue) {
+            timerDue = next;
+            timer.schedule(Math.max(1, (int) (next - Duration.currentTimeMillis())));
+        }
+    }
+
+    private double align(double now, int period) {
+        if (hidden) {
+            period = Math.max(period, HIDDEN_PERIOD);
+        }
+        return (Math.floor(now / period) + 1) * period;
+    }
+
+    void onVisibilityChanged(boolean hidden) {
+        this.hidden = hidden;
+        if (!hidden) {   // catch up at once ...
+            double now = Duration.currentTimeMillis();
+            for (Task t : tasks) {
+                t.due = now;
+                t.backOff = 1;
+            }
+            timer.cancel();
+            timerDue = 0;
+        }
+        schedule();
+    }
+
+    private native void initVisibilityHandler() /*-{
+    var doc = $doc, prop = null;
+    if (typeof doc.hidden != 'undefined') {
+    prop = 'hidden';
+    } else if (typeof doc.webkitHidden != 'undefined') {
+    prop = 'webkitHidden';
+    } else if (typeof doc.mozHidden != 'undefined') {
+    prop = 'mozHidden';
+    } else if (typeof doc.msHidden != 'undefined') {
+    prop = 'msHidden';
+    }
+    if (prop == null || !doc.addEventListener) {
+    return;
+    }
+    var self = this;
+    doc.addEventListener(prop.substring(0, prop.length - 6) + 'visibilitychange', $entry(function() {
+    self.@com.bramosystems.oss.player.core.client.impl.PlaybackClock::onVisibilityChanged(Z)(doc[prop] == true);
+    }), false);
+    this.@com.bramosystems.oss.player.core.client.impl.PlaybackClock::hidden = (doc[prop] == true);
+    }-*/;
+
+    /**
+     * A repeating task run by the clock
+     */
+    public static abstract class Task {
+
+        private int period, backOff;
+        private double due;
+        private boolean running, runWhenHidden;
+
+        /**
+         * Creates a task that runs every {@code period} milliseconds once started
+         *
+         * @param period the period in milliseconds
+         */
+        public Task(int period) {
+            this.period = Math.max(period, QUANTUM);
+        }
+
+        /**
+         * Called by the clock when the task is due
+         *
+         * @return {@code true} if the value observed by the task has changed since the last run,
+         * {@code false} to let the clock stretch the period of the task
+         */
+        protected abstract boolean run();
+
+        /**
+         * Starts the task, or restarts it at the requested period if it is already running.
+         * The task is first run within one period.
+         */
+        public void start() {
+            PlaybackClock clock = get();
+            backOff = 1;
+            due = clock.align(Duration.currentTimeMillis(), period);
+            if (!running) {
+                running = true;
+                clock.tasks.add(this);
+            }
+            clock.schedule();
+        }
+
+        /**
+         * Stops the task
+         */
+        public void cancel() {
+            if (running) {
+                running = false;
+                PlaybackClock clock = get();
+                clock.tasks.remove(this);
+                if (clock.tasks.isEmpty()) {
+                    clock.schedule();
+                }
+            }
+        }
+
+        /**
+         * Checks if the task is running
+         *
+         * @return {@code true} if the task is running, {@code false} otherwise
+         */
+        public boolean isRunning() {
+            return running;
+        }
+
+        /**
+         * Sets whether the task keeps running while the page is hidden.  Defaults to
+         * {@code false}.
+         *
+         * @param runWhenHidden {@code true} to keep running while hidden, {@code false} otherwise
+         */
+        public void setRunWhenHidden(boolean runWhenHidden) {
+            this.runWhenHidden = runWhenHidden;
+        }
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2011 Sikirulai Braheem
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.bramosystems.oss.player.core.client.impl.playlist;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * List backed by an implicit treap (a randomized balanced tree keyed by position).
+ *
+ * <p>Positional access, insertion, removal and moves take O(log n) expected time,
+ * and a {@link #splice(int, int, java.util.Collection) splice} of {@code m} items
+ * takes O(m + log n).
+ *
+ * <p>A list created {@link #over(java.util.List) over} another list takes its items from
+ * that list on first access only.
+ *
+ * @param <E> the type of the items
+ */
+public class IndexedList<E> extends AbstractList<E> {
+
+    private Node<E> root, _left, _right;
+    private List<? extends E> source;
+    private int _seed = 0x2545F491;
+
+    public IndexedList() {
+    }
+
+    public IndexedList(Collection<? extends E> items) {
+        root = build(items);
+    }
+
+    /**
+     * Creates a list holding the items of the specified list.  An item is taken from
+     * {@code items} the first time it is accessed, such that items of a lazily populated
+     * list are not created by the copy.  The specified list must not change afterwards.
+     *
+     * @param <E> the type of the items
+     * @param items the items
+     * @return the new list
+     */
+    public static <E> IndexedList<E> over(List<? extends E> items) {
+        IndexedList<E> l = new IndexedList<E>();
+        l.source = items;
+        ArrayList<Node<E>> spine = new ArrayList<Node<E>>();
+        for (int i = 0; i < items.size(); i++) {
+            Node<E> n = new Node<E>(null, l.nextPriority());
+            n.sourceIndex = i;
+            l.push(spine, n);
+        }
+        l.root = l.root(spine);
+        return l;
+    }
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    @Override
+    public E get(int index) {
+        return value(find(index));
+    }
+
+    @Override
+    public E set(int index, E element) {
+        Node<E> n = find(index);
+        E old = value(n);
+        n.value = element;
+        return old;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        checkIndex(index, size() + 1);
+        split(root, index);
+        Node<E> a = _left, b = _right;
+        root = merge(merge(a, new Node<E>(element, nextPriority())), b);
+    }
+
+    @Override
+    public E remove(int index) {
+        checkIndex(index, size());
+        split(root, index);
+        Node<E> a = _left;
+        split(_right, 1);
+        Node<E> m = _left;
+        root = merge(a, _right);
+        return value(m);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        splice(size(), 0, c);
+        return !c.isEmpty();
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends E> c) {
+        splice(index, 0, c);
+        return !c.isEmpty();
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        splice(fromIndex, toIndex - fromIndex, null);
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+    }
+
+    /**
+     * Moves the item at index {@code from} such that it ends up at index {@code to}
+     * 
+     * @param from the current index of the item
+     * @param to the new index of the item
+     */
+    public void move(int from, int to) {
+        checkIndex(to, size());
+        add(to, remove(from));
+    }
+
+    /**
+     * Removes {@code count} items from the specified {@code index} and inserts the
+     * specified {@code items} in their place
+     * 
+     * @param index the index of the first item to remove
+     * @param count the number of items to remove
+     * @param items the items to insert, or {@code null} to insert nothing
+     */
+    public void splice(int index, int count, Collection<? extends E> items) {
+        checkIndex(index, size() + 1);
+        checkIndex(index + count, size() + 1);
+        split(root, index);
+        Node<E> a = _left;
+        split(_right, count);
+        Node<E> c = _right;
+        root = merge(merge(a, items == null ? null : build(items)), c);
+    }
+
+    private void checkIndex(int index, int limit) {
+        if (index < 0 || index >= limit) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+
+    private E value(Node<E> n) {
+        if (n.sourceIndex >= 0) {   // first access ...
+            n.value = source.get(n.sourceIndex);
+            n.sourceIndex = -1;
+        }
+        return n.value;
+    }
+
+    private Node<E> find(int index) {
+        checkIndex(index, size());
+        Node<E> n = root;
+        while (true) {
+            int ls = size(n.left);
+            if (index < ls) {
+                n = n.left;
+            } else if (index > ls) {
+                index -= ls + 1;
+                n = n.right;
+            } else {
+                return n;
+            }
+        }
+    }
+
+    /**
+     * Splits {@code t} into {@code _left} holding the first {@code k} items, and
+     * {@code _right} holding the rest
+     */
+    private void split(Node<E> t, int k) {
+        if (t == null) {
+            _left = _right = null;
+        } else if (size(t.left) < k) {
+            split(t.right, k - size(t.left) - 1);
+            t.right = _left;
+            t.update();
+            _left = t;
+        } else {
+            split(t.left, k);
+            t.left = _right;
+            t.update();
+            _right = t;
+        }
+    }
+
+    private Node<E> merge(Node<E> a, Node<E> b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            a.update();
+            return a;
+        } else {
+            b.left = merge(a, b.left);
+            b.update();
+            return b;
+        }
+    }
+
+    /**
+     * Builds a treap of the items in linear time, using the right spine as a stack
+     */
+    private Node<E> build(Collection<? extends E> items) {
+        ArrayList<Node<E>> spine = new ArrayList<Node<E>>();
+        for (E e : items) {
+            push(spine, new Node<E>(e, nextPriority()));
+        }
+        return root(spine);
+    }
+
+    private void push(ArrayList<Node<E>> spine, Node<E> n) {
+        Node<E> last = null;
+        while (!spine.isEmpty() && spine.get(spine.size() - 1).priority < n.priority) {
+            last = spine.remove(spine.size() - 1);
+        }
+        n.left = last;
+        if (!spine.isEmpty()) {
+            spine.get(spine.size() - 1).right = n;
+        }
+        spine.add(n);
+    }
+
+    private Node<E> root(ArrayList<Node<E>> spine) {
+        if (spine.isEmpty()) {
+            return null;
+        }
+        Node<E> r = spine.get(0);
+        updateSizes(r);
+        return r;
+    }
+
+    private int updateSizes(Node<E> n) {
+        if (n == null) {
+            return 0;
+        }
+        n.size = updateSizes(n.left) + updateSizes(n.right) + 1;
+        return n.size;
+    }
+
+    private int nextPriority() {
+        _seed ^= _seed << 13;
+        _seed ^= _seed >>> 17;
+        _seed ^= _seed << 5;
+        return _seed;
+    }
+
+    private static int size(Node<?> n) {
+        return n == null ? 0 : n.size;
+    }
+
+    private static class Node<E> {
+
+        private E value;
+        private int priority, size, sourceIndex = -1;
+        private Node<E> left, right;
+
+        public Node(E value, int priority) {
+            this.value = value;
+            this.priority = priority;
+            size = 1;
+        }
+
+        void update() {
+            size = size(left) + size(right) + 1;
+        }
+    }
+}
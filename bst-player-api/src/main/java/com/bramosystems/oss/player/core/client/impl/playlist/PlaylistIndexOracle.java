@@ -16,25 +16,48 @@
 package com.bramosystems.oss.player.core.client.impl.playlist;
 
 import com.google.gwt.user.client.Random;
-import java.util.HashSet;
 
+/**
+ * Suggests the playlist indices to play in sequential and random (shuffle) modes.
+ *
+ * <p>Random mode draws from an incremental Fisher-Yates permutation of the indices.
+ * Indices played during a pass are kept in play order as history for previous/next
+ * requests, such that each index is suggested exactly once per pass.
+ *
+ * <p>Playlist items are tracked by node rather than by index: the playlist order and the
+ * history are {@link RankTree}s over the nodes, and the indices not yet played are a bag of
+ * nodes.  Suggestions and edits of the playlist (insertion, removal and moves) thus take
+ * O(log n) expected time; a range removal takes O(log n) per removed index.
+ */
 public class PlaylistIndexOracle {
 
-    private int _currentIndex, _indexSize;
-    private boolean _randomMode;
-    private HashSet<Integer> _usedRandomIndices;
+    private int _currentIndex, _cursor, _seed, _peeked, _bagSize, _nodeCount, _freeCount;
+    private boolean _randomMode, _seeded;
+    private RankTree _items, _history;
+    private int[] _bag, _bagPos, _free;
 
     public PlaylistIndexOracle() {
         this(0);
     }
 
     public PlaylistIndexOracle(int indexSize) {
-        _indexSize = indexSize;
-        _usedRandomIndices = new HashSet<Integer>();
+        _items = new RankTree();
+        _history = new RankTree();
+        _bag = new int[0];
+        _bagPos = new int[0];
+        _free = new int[0];
+        _cursor = -1;
+        _peeked = -1;
+        setIndexSize(indexSize);
     }
 
     public void setIndexSize(int _indexSize) {
-        this._indexSize = _indexSize;
+        while (_items.size() < _indexSize) {
+            incrementIndexSize();
+        }
+        if (_items.size() > _indexSize) {
+            removeRange(_indexSize, _items.size());
+        }
     }
 
     public void setRandomMode(boolean _randomMode) {
@@ -45,8 +68,19 @@ public class PlaylistIndexOracle {
         return _randomMode;
     }
 
+    /**
+     * Seeds the random mode with the specified value such that the same seed gives
+     * the same order of indices
+     * 
+     * @param seed the seed
+     */
+    public void setSeed(int seed) {
+        _seed = seed == 0 ? 0x2545F491 : seed;
+        _seeded = true;
+    }
+
     public void incrementIndexSize() {
-        _indexSize++;
+        newNode(_items.size());
     }
 
     /**
@@ -54,7 +88,11 @@ public class PlaylistIndexOracle {
      * @param usedIndicesOnly true to reset indices only
      */
     public void reset(boolean usedIndicesOnly) {
-        _usedRandomIndices.clear();
+        for (int i = 0; i < _history.size(); i++) {   // played indices are back in the bag ...
+            bagAdd(_history.select(i));
+        }
+        _history.clear();
+        _cursor = -1;
         _currentIndex = usedIndicesOnly ? _currentIndex : 0;
     }
 
@@ -64,12 +102,84 @@ public class PlaylistIndexOracle {
 
     public void setCurrentIndex(int index) {
         _currentIndex = index;
-        _usedRandomIndices.add(_currentIndex);
+        if (index >= 0 && index < _items.size()) {
+            _cursor = markPlayed(_items.select(index));
+        }
     }
 
+    /**
+     * Removes the specified index. Higher indices are shifted down by one, in the
+     * history as well as the current index.
+     * 
+     * @param index the removed index
+     */
     public void removeFromCache(int index) {
-        _usedRandomIndices.remove(Integer.valueOf(index));
-        _indexSize--;
+        if (index < 0 || index >= _items.size()) {
+            return;
+        }
+        int node = _items.select(index);
+        _items.remove(node);
+        if (_bagPos[node] < 0) {   // drop from history ...
+            int pos = _history.rank(node);
+            _history.remove(node);
+            if (_cursor >= pos) {
+                _cursor--;
+            }
+        } else {
+            bagRemove(node);
+        }
+        releaseNode(node);
+
+        if (_currentIndex >= index) {
+            _currentIndex--;
+        }
+    }
+
+    /**
+     * Removes the indices from {@code fromIndex}, inclusive, to {@code toIndex}, exclusive.
+     * Higher indices are shifted down accordingly.
+     * 
+     * @param fromIndex the first removed index
+     * @param toIndex the index after the last removed index
+     */
+    public void removeRange(int fromIndex, int toIndex) {
+        for (int i = toIndex - 1; i >= fromIndex; i--) {
+            removeFromCache(i);
+        }
+    }
+
+    /**
+     * Inserts an index at the specified position.  The index previously at that position
+     * and all higher indices are shifted up by one.
+     * 
+     * @param index the inserted index
+     */
+    public void insertIndex(int index) {
+        newNode(index);
+        if (_currentIndex >= index) {
+            _currentIndex++;
+        }
+    }
+
+    /**
+     * Moves index {@code from} to {@code to}.  The indices in-between are shifted
+     * towards {@code from} by one.
+     * 
+     * @param from the current index
+     * @param to the new index
+     */
+    public void moveIndex(int from, int to) {
+        int node = _items.select(from);
+        _items.remove(node);
+        _items.insert(to, node);
+
+        if (_currentIndex == from) {
+            _currentIndex = to;
+        } else if (from < _currentIndex && _currentIndex <= to) {
+            _currentIndex--;
+        } else if (to <= _currentIndex && _currentIndex < from) {
+            _currentIndex++;
+        }
     }
 
     /**
@@ -80,36 +190,124 @@ public class PlaylistIndexOracle {
      */
     public int suggestIndex(boolean up, boolean canRepeat) {
         if (_currentIndex < 0 && canRepeat) {  // prepare for another iteration ...
-            _usedRandomIndices.clear();
-            _currentIndex = up ? 0 : _indexSize;
-        } else {
-            _currentIndex = suggestIndexImpl(up);
-        }
-
-        if (_randomMode) {
-            int _count = 0;
-            while (_usedRandomIndices.contains(_currentIndex)) {
-                _currentIndex = suggestIndexImpl(up);
-                _count++;
-                if (_count == _indexSize * 3) {
-                    _currentIndex = -1;
-                    break;
-                }
+            reset(true);
+            _currentIndex = _randomMode ? drawIndex() : (up ? 0 : _items.size() - 1);
+        } else if (_randomMode) {
+            if (up) {
+                _currentIndex = _cursor + 1 < _history.size() ? _items.rank(_history.select(_cursor + 1)) : drawIndex();
+            } else {
+                _currentIndex = _cursor > 0 ? _items.rank(_history.select(_cursor - 1)) : -1;
             }
+        } else {
+            _currentIndex = up ? _currentIndex + 1 : _currentIndex - 1;
         }
 
-        if (_currentIndex == _indexSize) {
+        if (_currentIndex < 0 || _currentIndex >= _items.size()) {
             _currentIndex = -1;
+        } else { // keep the used index ...
+            _cursor = markPlayed(_items.select(_currentIndex));
         }
+        return _currentIndex;
+    }
 
-        if (_currentIndex >= 0) { // keep the used index ...
-            _usedRandomIndices.add(_currentIndex);
+    /**
+     * Returns the index that {@code suggestIndex(true, false)} will suggest next without
+     * moving to it.  In random mode, the index is drawn now and kept for the next suggestion.
+     * 
+     * @return the next index, -1 indicates end-of-playlist
+     */
+    public int peekIndex() {
+        if (!_randomMode) {
+            int next = _currentIndex + 1;
+            return next < _items.size() ? next : -1;
         }
-        return _currentIndex;
+        if (_cursor + 1 < _history.size()) {
+            return _items.rank(_history.select(_cursor + 1));
+        }
+        if (_peeked < 0 || _bagPos[_peeked] < 0) {
+            _peeked = _bagSize > 0 ? _bag[nextInt(_bagSize)] : -1;
+        }
+        return _peeked < 0 ? -1 : _items.rank(_peeked);
+    }
+
+    /**
+     * Moves the node from the bag to the end of the history, if not played yet
+     *
+     * @return the position of the node in the history
+     */
+    private int markPlayed(int node) {
+        if (_bagPos[node] >= 0) {
+            bagRemove(node);
+            _history.insert(_history.size(), node);
+            return _history.size() - 1;
+        }
+        return _history.rank(node);
     }
 
-    private int suggestIndexImpl(boolean up) {
-        return _randomMode ? Random.nextInt(_indexSize)
-                : (up ? ++_currentIndex : --_currentIndex);
+    private int drawIndex() {
+        if (_bagSize == 0) {
+            return -1;
+        }
+        int node = _peeked >= 0 && _bagPos[_peeked] >= 0 ? _peeked : _bag[nextInt(_bagSize)];
+        _peeked = -1;
+        return _items.rank(node);
+    }
+
+    private void newNode(int index) {
+        int node;
+        if (_freeCount > 0) {
+            node = _free[--_freeCount];
+        } else {
+            node = _nodeCount++;
+            if (node == _bagPos.length) {
+                int capacity = node * 2 + 8;
+                int[] p = new int[capacity];
+                System.arraycopy(_bagPos, 0, p, 0, node);
+                _bagPos = p;
+                _items.ensureCapacity(capacity);
+                _history.ensureCapacity(capacity);
+            }
+        }
+        _items.insert(index, node);
+        bagAdd(node);
+    }
+
+    private void releaseNode(int node) {
+        if (_peeked == node) {
+            _peeked = -1;
+        }
+        if (_freeCount == _free.length) {
+            int[] f = new int[_freeCount * 2 + 8];
+            System.arraycopy(_free, 0, f, 0, _freeCount);
+            _free = f;
+        }
+        _free[_freeCount++] = node;
+    }
+
+    private void bagAdd(int node) {
+        if (_bagSize == _bag.length) {
+            int[] b = new int[_bagSize * 2 + 8];
+            System.arraycopy(_bag, 0, b, 0, _bagSize);
+            _bag = b;
+        }
+        _bag[_bagSize] = node;
+        _bagPos[node] = _bagSize++;
+    }
+
+    private void bagRemove(int node) {
+        int pos = _bagPos[node], last = _bag[--_bagSize];
+        _bag[pos] = last;
+        _bagPos[last] = pos;
+        _bagPos[node] = -1;
+    }
+
+    private int nextInt(int bound) {
+        if (!_seeded) {
+            return Random.nextInt(bound);
+        }
+        _seed ^= _seed << 13;   // xorshift, avoids int multiplication overflow in JS ...
+        _seed ^= _seed >>> 17;
+        _seed ^= _seed << 5;
+        return (_seed >>> 1) % bound;
     }
 }
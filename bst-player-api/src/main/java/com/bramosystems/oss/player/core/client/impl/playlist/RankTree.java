@@ -0,0 +1,176 @@
+/*
+ * Copyright 2011 Sikirulai Braheem <sbraheem at bramosystems.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bramosystems.oss.player.core.client.impl.playlist;
+
+/**
+ * Implicit treap over integer node ids, with parent links such that the rank (position)
+ * of a node can be found from the node itself.
+ *
+ * <p>Insertion, removal, selection by rank and the rank of a node take O(log n) expected
+ * time.  Node ids are managed by the caller and must be less than the capacity of the tree.
+ *
+ * @author Sikirulai Braheem <sbraheem at bramosystems.com>
+ */
+class RankTree {
+
+    private static final int NIL = -1;
+    private int[] left, right, parent, priority, sizes;
+    private int root = NIL, _left, _right, _seed = 0x2545F491;
+
+    public RankTree() {
+        left = right = parent = priority = sizes = new int[0];
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity > sizes.length) {
+            left = grow(left, capacity);
+            right = grow(right, capacity);
+            parent = grow(parent, capacity);
+            priority = grow(priority, capacity);
+            sizes = grow(sizes, capacity);
+        }
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public void clear() {
+        root = NIL;
+    }
+
+    /**
+     * Inserts the node such that it ends up at the specified rank
+     */
+    public void insert(int rank, int node) {
+        left[node] = right[node] = NIL;
+        priority[node] = nextPriority();
+        sizes[node] = 1;
+        split(root, rank);
+        int b = _right;
+        setRoot(merge(merge(_left, node), b));
+    }
+
+    public void remove(int node) {
+        split(root, rank(node));
+        int a = _left;
+        split(_right, 1);
+        setRoot(merge(a, _right));
+    }
+
+    /**
+     * Returns the node at the specified rank
+     */
+    public int select(int rank) {
+        int n = root;
+        while (true) {
+            int ls = size(left[n]);
+            if (rank < ls) {
+                n = left[n];
+            } else if (rank > ls) {
+                rank -= ls + 1;
+                n = right[n];
+            } else {
+                return n;
+            }
+        }
+    }
+
+    /**
+     * Returns the rank of the specified node
+     */
+    public int rank(int node) {
+        int r = size(left[node]);
+        for (int n = node, p = parent[node]; p != NIL; n = p, p = parent[p]) {
+            if (right[p] == n) {
+                r += size(left[p]) + 1;
+            }
+        }
+        return r;
+    }
+
+    /**
+     * Splits {@code t} into {@code _left} holding the first {@code k} nodes, and
+     * {@code _right} holding the rest
+     */
+    private void split(int t, int k) {
+        if (t == NIL) {
+            _left = _right = NIL;
+        } else if (size(left[t]) < k) {
+            split(right[t], k - size(left[t]) - 1);
+            right[t] = _left;
+            update(t);
+            _left = t;
+        } else {
+            split(left[t], k);
+            left[t] = _right;
+            update(t);
+            _right = t;
+        }
+    }
+
+    private int merge(int a, int b) {
+        if (a == NIL) {
+            return b;
+        }
+        if (b == NIL) {
+            return a;
+        }
+        if (priority[a] > priority[b]) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        } else {
+            left[b] = merge(a, left[b]);
+            update(b);
+            return b;
+        }
+    }
+
+    private void update(int t) {
+        sizes[t] = size(left[t]) + size(right[t]) + 1;
+        if (left[t] != NIL) {
+            parent[left[t]] = t;
+        }
+        if (right[t] != NIL) {
+            parent[right[t]] = t;
+        }
+    }
+
+    private void setRoot(int n) {
+        root = n;
+        if (n != NIL) {
+            parent[n] = NIL;
+        }
+    }
+
+    private int size(int n) {
+        return n == NIL ? 0 : sizes[n];
+    }
+
+    private int nextPriority() {
+        _seed ^= _seed << 13;
+        _seed ^= _seed >>> 17;
+        _seed ^= _seed << 5;
+        return _seed;
+    }
+
+    private static int[] grow(int[] a, int capacity) {
+        int[] b = new int[capacity];
+        System.arraycopy(a, 0, b, 0, a.length);
+        return b;
+    }
+}
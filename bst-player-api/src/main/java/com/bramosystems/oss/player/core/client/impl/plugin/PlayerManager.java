@@ -16,8 +16,12 @@
 package com.bramosystems.oss.player.core.client.impl.plugin;
 
 import com.bramosystems.oss.player.core.client.*;
+import com.bramosystems.oss.player.core.client.impl.CallbackUtility;
+import com.bramosystems.oss.player.core.client.spi.ConfigurationContext;
 import com.bramosystems.oss.player.core.client.spi.PlayerProviderFactory;
 import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArrayString;
 import java.util.*;
 
 /**
@@ -27,9 +31,24 @@ import java.util.*;
 public abstract class PlayerManager {
 
     private static PlayerManager instance;
-    private HashSet<PlayerInfo> matrixSupports = new HashSet<PlayerInfo>(), playlistSupports = new HashSet<PlayerInfo>(),
-            allPlayers = new HashSet<PlayerInfo>();
     private HashMap<String, String> mimeTypes;
+    private MimeTable mimeTable;
+    private static final int DECISION_CACHE_SIZE = 256;
+    private ResolutionIndex allPlayers, matrixSupports, playlistSupports;
+    private LinkedHashMap<String, PlayerInfo> decisions = new LinkedHashMap<String, PlayerInfo>(16, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, PlayerInfo> eldest) {
+            return size() > DECISION_CACHE_SIZE;
+        }
+    };
+    private int decisionHits, decisionMisses;
+    private HashSet<String> initializedProviders = new HashSet<String>();
+    private HashMap<PlayerInfo, Boolean> availability = new HashMap<PlayerInfo, Boolean>();
+    private static final PluginVersion ANY_VERSION = PluginVersion.get(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    private Set<String> providers;
+    private HashMap<String, Set<String>> playerNames = new HashMap<String, Set<String>>();
+    private PlayerProviderFactory[] factories;
 
     public static PlayerManager getInstance() {
         if (instance == null) {
@@ -40,105 +59,217 @@ public abstract class PlayerManager {
     }
 
     private void init() {
-        mimeTypes = new HashMap<String, String>();
-        initMimeTypes(mimeTypes);
-
-        Iterator<String> it = getProviders().iterator();
-        while (it.hasNext()) {
-            String prov = it.next();
-            Iterator<String> pns = getPlayerNames(prov).iterator();
-            while (pns.hasNext()) {
-                String pn = pns.next();
-                try {
-                    PlayerInfo pi = getPlayerInfo(prov, pn);
-                    pi.setDetectedPluginInfo(getProviderFactory(prov).getDetectedPluginInfo(pn));
-                    pi.getRegisteredProtocols().addAll(getProviderFactory(prov).getPermittedMediaProtocols(pn, pi.getDetectedPluginVersion()));
-                    Set<String> mimes = getProviderFactory(prov).getPermittedMimeTypes(pn, pi.getDetectedPluginVersion());
-                    for (String mime : mimes) {
-                        String exts = mimeTypes.get(mime.trim());
-                        if (exts != null) {
-                            pi.getRegisteredExtensions().addAll(Arrays.asList(exts.split(",")));
-                        }
-                    }
+        mimeTable = initMimeTable().cast();
+        availability.clear();
 
-                    allPlayers.add(pi);
-                    if (pi.isHasMatrixSupport()) {
-                        matrixSupports.add(pi);
-                    }
-                    if (pi.isHasPlaylistSupport()) {
-                        playlistSupports.add(pi);
-                    }
-                } catch (PluginNotFoundException ex) {
+        // index candidates by the protocols & mime types permitted with any plugin version,
+        // plugins are detected when a candidate is evaluated ...
+        ArrayList<PlayerInfo> players = new ArrayList<PlayerInfo>();
+        HashMap<PlayerInfo, Set<String>> candidateExts = new HashMap<PlayerInfo, Set<String>>(),
+                candidateProts = new HashMap<PlayerInfo, Set<String>>();
+        for (PlayerInfo pi : getPlayerInfos()) {
+            PlayerProviderFactory pf = createProviderFactory(pi.getProviderName());
+            candidateProts.put(pi, pf.getPermittedMediaProtocols(pi.getPlayerName(), ANY_VERSION));
+            candidateExts.put(pi, toExtensions(pf.getPermittedMimeTypes(pi.getPlayerName(), ANY_VERSION)));
+            players.add(pi);
+        }
+
+        // providers & players are sorted by name, move prioritized players to the front ...
+        ArrayList<PlayerInfo> ordered = new ArrayList<PlayerInfo>();
+        for (String pp : getPlayerPriority()) {
+            for (int i = 0; i < players.size(); i++) {
+                PlayerInfo pi = players.get(i);
+                if (pp.equals(pi.getProviderName() + ":" + pi.getPlayerName())) {
+                    ordered.add(players.remove(i));
+                    break;
                 }
             }
         }
+        ordered.addAll(players);
+
+        allPlayers = new ResolutionIndex();
+        matrixSupports = new ResolutionIndex();
+        playlistSupports = new ResolutionIndex();
+        for (PlayerInfo pi : ordered) {
+            allPlayers.add(pi, candidateProts.get(pi), candidateExts.get(pi));
+            if (pi.isHasMatrixSupport()) {
+                matrixSupports.add(pi, candidateProts.get(pi), candidateExts.get(pi));
+            }
+            if (pi.isHasPlaylistSupport()) {
+                playlistSupports.add(pi, candidateProts.get(pi), candidateExts.get(pi));
+            }
+        }
+    }
+
+    /**
+     * Detects the plugin of the player, once, and registers the protocols & file extensions
+     * permitted with the detected plugin version
+     *
+     * @return {@code true} if the required plugin version is available
+     */
+    private boolean isAvailable(PlayerInfo pi) {
+        Boolean available = availability.get(pi);
+        if (available == null) {
+            String pn = pi.getPlayerName();
+            pi.getRegisteredProtocols().clear();
+            pi.getRegisteredExtensions().clear();
+            try {
+                PlayerProviderFactory pf = createProviderFactory(pi.getProviderName());
+                pi.setDetectedPluginInfo(pf.getDetectedPluginInfo(pn));
+                pi.getRegisteredProtocols().addAll(pf.getPermittedMediaProtocols(pn, pi.getDetectedPluginVersion()));
+                pi.getRegisteredExtensions().addAll(toExtensions(pf.getPermittedMimeTypes(pn, pi.getDetectedPluginVersion())));
+                available = pi.getDetectedPluginVersion().compareTo(pi.getRequiredPluginVersion()) >= 0;
+            } catch (PluginNotFoundException ex) {
+                available = false;
+            }
+            availability.put(pi, available);
+        }
+        return available;
+    }
+
+    private Set<String> toExtensions(Set<String> mimes) {
+        HashSet<String> exts = new HashSet<String>();
+        for (String mime : mimes) {
+            JsArrayString es = mimeTable.getExtensions(mime.trim());
+            for (int i = 0; es != null && i < es.length(); i++) {
+                exts.add(es.get(i));
+            }
+        }
+        return exts;
+    }
+
+    /**
+     * Detects the available plugins again and rebuilds the player resolution indices.
+     * Should be called when plugins may have been installed or enabled since the
+     * manager was initialized.
+     */
+    public void refreshPlugins() {
+        PluginManager.clearCache();
+        init();
+        decisions.clear();
+    }
+
+    /**
+     * Called by the PluginManager when a background check finds that the persisted
+     * information of a plugin is out of date
+     */
+    static void onPluginsChanged() {
+        if (instance != null) {
+            instance.init();
+            instance.decisions.clear();
+        }
+    }
+
+    /**
+     * Returns the number of player selections served from the decision cache
+     *
+     * @return the number of cache hits
+     */
+    public int getDecisionCacheHits() {
+        return decisionHits;
+    }
+
+    /**
+     * Returns the number of player selections that were not in the decision cache
+     *
+     * @return the number of cache misses
+     */
+    public int getDecisionCacheMisses() {
+        return decisionMisses;
     }
 
     public HashMap<String, String> getMimeTypes() {
+        if (mimeTypes == null) {
+            mimeTypes = new HashMap<String, String>();
+            JsArrayString mimes = mimeTable.getMimeTypes();
+            for (int i = 0; i < mimes.length(); i++) {
+                mimeTypes.put(mimes.get(i), mimeTable.getExtensions(mimes.get(i)).join(","));
+            }
+        }
         return mimeTypes;
     }
 
     public AbstractMediaPlayer getPlayer(Plugin plugin, String mediaURL,
             boolean autoplay, String height, String width) throws PluginVersionException, PluginNotFoundException {
         PlayerInfo pi = getSupportedPlayer(plugin, mediaURL);
+        if (pi == null) {
+            throw new PluginNotFoundException(plugin);
+        }
         return getProviderFactory(pi.getProviderName()).getPlayer(pi.getPlayerName(), mediaURL, autoplay, height, width);
     }
 
     public AbstractMediaPlayer getPlayer(Plugin plugin, String mediaURL,
             boolean autoplay) throws PluginVersionException, PluginNotFoundException {
         PlayerInfo pi = getSupportedPlayer(plugin, mediaURL);
+        if (pi == null) {
+            throw new PluginNotFoundException(plugin);
+        }
         return getProviderFactory(pi.getProviderName()).getPlayer(pi.getPlayerName(), mediaURL, autoplay);
     }
 
     /**
-     * TODO: provide support for property file based sorting ...
-     *
-     * @param plugin
-     * @param mediaURL
-     * @return
+     * Returns the factory of the specified provider.  The factory is initialized
+     * the first time it is requested.
      */
-    private PlayerInfo getSupportedPlayer(Plugin plugin, String mediaURL) {
-        String protocol = extractProtocol(mediaURL);
-        String ext = extractExt(mediaURL);
-        HashSet<PlayerInfo> pnames = new HashSet<PlayerInfo>();
-        PlayerInfo pname = null;
-        boolean isSpecificPlug = false;
+    public PlayerProviderFactory getProviderFactory(String provider) {
+        PlayerProviderFactory pf = createProviderFactory(provider);
+        if (pf != null && initializedProviders.add(provider)) {
+            String name = provider.replace(".", "$");
+            pf.init(new ConfigurationContext(CallbackUtility.initCallbackHandlers(name), "bstplayer.handlers." + name));
+        }
+        return pf;
+    }
 
+    private PlayerInfo getSupportedPlayer(Plugin plugin, String mediaURL) {
+        ResolutionIndex index = null;
         switch (plugin) {
             case MatrixSupport:
-                pnames = matrixSupports;
+                index = matrixSupports;
                 break;
             case PlaylistSupport:
-                pnames = playlistSupports;
+                index = playlistSupports;
                 break;
             case Auto:
-                pnames = allPlayers;
+                index = allPlayers;
                 break;
             default:
-                isSpecificPlug = true;
-        }
-
-        if (isSpecificPlug) {
-            return getPlayerInfo("core", plugin.name());
+                // players excluded from the build are not found ...
+                return findPlayerInfo("core", plugin.name());
         }
 
-        Iterator<PlayerInfo> it = pnames.iterator();
-        while (it.hasNext()) {
-            PlayerInfo pn = it.next();
-            if (canHandleMedia(pn, protocol, ext)) {
-                pname = pn;
-                break;
-            }
+        String protocol = extractProtocol(mediaURL);
+        String ext = normalizeExt(extractExt(mediaURL));
+        protocol = protocol == null ? null : protocol.toLowerCase();
+        String key = plugin.ordinal() + "|" + protocol + "|" + ext;
+        if (decisions.containsKey(key)) {
+            decisionHits++;
+            return decisions.get(key);
         }
-        return pname;
+        decisionMisses++;
+        PlayerInfo pi = resolve(index, protocol, ext);
+        decisions.put(key, pi);
+        return pi;
     }
 
     protected final boolean canHandleMedia(String playerProvider, String playerName, String protocol, String ext) {
         return canHandleMedia(getPlayerInfo(playerProvider, playerName), protocol, ext);
     }
 
+    /**
+     * Returns the first candidate in priority order that handles the protocol or file extension
+     * with the plugin available.  Plugins are detected as their candidates are evaluated.
+     */
+    private PlayerInfo resolve(ResolutionIndex index, String protocol, String ext) {
+        for (PlayerInfo pi : index.getCandidates(protocol, ext)) {
+            if (canHandleMedia(pi, protocol, ext)) {
+                return pi;
+            }
+        }
+        return null;
+    }
+
     protected final boolean canHandleMedia(PlayerInfo pif, String protocol, String ext) {
-        if (pif.getDetectedPluginVersion().compareTo(pif.getRequiredPluginVersion()) >= 0) {   // req plugin found...
+        if (isAvailable(pif)) {   // req plugin found...
             // check for streaming protocol & extension ...
             Set<String> types = pif.getRegisteredExtensions();
             Set<String> prots = pif.getRegisteredProtocols();
@@ -149,8 +280,33 @@ public abstract class PlayerManager {
     }
 
     protected final String extractExt(String mediaURL) {
-        String _mediaURL = mediaURL.replaceAll("[;#].*$", "");
-        return _mediaURL.substring(_mediaURL.lastIndexOf(".") + 1);
+        int end = mediaURL.length();
+        for (int i = 0; i < end; i++) {
+            char c = mediaURL.charAt(i);
+            if (c == ';' || c == '#') {
+                end = i;
+                break;
+            }
+        }
+        return mediaURL.substring(mediaURL.lastIndexOf(".", end - 1) + 1, end);
+    }
+
+    /**
+     * Strips the query string off the extension and maps a tail that is not an extension
+     * (such as the path of a video ID URL) to an empty string, such that URLs of the same
+     * shape share a decision
+     */
+    private String normalizeExt(String ext) {
+        int q = ext.indexOf('?');
+        if (q >= 0) {
+            ext = ext.substring(0, q);
+        }
+        for (int i = 0; i < ext.length(); i++) {
+            if (!Character.isLetterOrDigit(ext.charAt(i))) {
+                return "";
+            }
+        }
+        return ext.toLowerCase();
     }
 
     protected final String extractProtocol(String mediaURL) {
@@ -184,20 +340,222 @@ public abstract class PlayerManager {
         return pi;
     }
 
-    public abstract Set<String> getPlayerNames(String providerName);
+    public Set<String> getPlayerNames(String providerName) {
+        Set<String> names = playerNames.get(providerName);
+        if (names == null) {
+            names = Collections.unmodifiableSet(new LinkedHashSet<String>(
+                    Arrays.asList(getPlayerTable(indexOfProvider(providerName)))));
+            playerNames.put(providerName, names);
+        }
+        return names;
+    }
+
+    public Set<String> getProviders() {
+        if (providers == null) {
+            providers = Collections.unmodifiableSet(new LinkedHashSet<String>(Arrays.asList(getProviderTable())));
+        }
+        return providers;
+    }
+
+    public PlayerInfo getPlayerInfo(String providerName, String playerName) {
+        indexOfProvider(providerName);
+        if (providerName.equals("api")) {
+            return getApiPlayerInfoForPlugin(playerName);
+        }
+        PlayerInfo pi = findPlayerInfo(providerName, playerName);
+        if (pi == null) {
+            throw new IllegalArgumentException("Unknown player name - " + playerName);
+        }
+        return pi;
+    }
+
+    /**
+     * Returns the info of the specified player, with the plugin detected
+     *
+     * @return the info or {@code null} if the provider or player is not registered
+     */
+    private PlayerInfo findPlayerInfo(String providerName, String playerName) {
+        int p = findProvider(providerName);
+        int i = p < 0 || playerName == null ? -1 : Arrays.binarySearch(getPlayerTable(p), playerName);
+        if (i < 0) {
+            return null;
+        }
+        PlayerInfo pi = getPlayerInfoTable(p)[i];
+        isAvailable(pi);
+        return pi;
+    }
+
+    /**
+     * Returns the factory of the specified provider without initializing it.  The
+     * factory is created the first time it is requested.
+     *
+     * @param provider the provider name
+     * @return the factory or {@code null} if the provider is unknown
+     */
+    protected final PlayerProviderFactory createProviderFactory(String provider) {
+        int p = findProvider(provider);
+        if (p < 0) {
+            return null;
+        }
+        if (factories == null) {
+            factories = new PlayerProviderFactory[getProviderTable().length];
+        }
+        if (factories[p] == null) {
+            factories[p] = newProviderFactory(p);
+        }
+        return factories[p];
+    }
+
+    private int findProvider(String provider) {
+        return provider == null ? -1 : Arrays.binarySearch(getProviderTable(), provider);
+    }
+
+    private int indexOfProvider(String provider) {
+        int p = findProvider(provider);
+        if (p < 0) {
+            throw new IllegalArgumentException("Unknown player provider - " + provider);
+        }
+        return p;
+    }
+
+    /**
+     * Returns the info of all registered players, sorted by provider name and player name
+     */
+    private ArrayList<PlayerInfo> getPlayerInfos() {
+        ArrayList<PlayerInfo> infos = new ArrayList<PlayerInfo>();
+        for (int p = 0; p < getProviderTable().length; p++) {
+            infos.addAll(Arrays.asList(getPlayerInfoTable(p)));
+        }
+        return infos;
+    }
+
+    /**
+     * Returns the names of the registered providers, sorted by name.  The array is shared and
+     * should not be modified.
+     *
+     * @return the provider names
+     */
+    protected abstract String[] getProviderTable();
+
+    /**
+     * Returns the names of the players of a provider, sorted by name.  The array is shared and
+     * should not be modified.
+     *
+     * @param provider the index of the provider in {@link #getProviderTable()}
+     * @return the player names
+     */
+    protected abstract String[] getPlayerTable(int provider);
 
-    public abstract Set<String> getProviders();
+    /**
+     * Returns the info of the players of a provider, in the order of {@link #getPlayerTable(int)}
+     *
+     * @param provider the index of the provider in {@link #getProviderTable()}
+     * @return the player infos
+     */
+    protected abstract PlayerInfo[] getPlayerInfoTable(int provider);
 
-    public abstract PlayerInfo getPlayerInfo(String providerName, String playerName);
+    /**
+     * Creates the factory of a provider
+     *
+     * @param provider the index of the provider in {@link #getProviderTable()}
+     * @return the factory
+     */
+    protected abstract PlayerProviderFactory newProviderFactory(int provider);
 
-    public abstract PlayerProviderFactory getProviderFactory(String provider);
+    /**
+     * Returns all known audio/video mime types as a javascript object literal that maps
+     * each mime type to an array of its file extensions.
+     *
+     * @return the mime type table
+     */
+    protected abstract JavaScriptObject initMimeTable();
 
     /**
-     * Called by the constructor method to populate all known audio/video mime
-     * types.
+     * Returns the order in which players are selected when more than one player can
+     * handle a media.
      *
-     * @param mimeTypes the mimeType map to be filled. The map is filled as
-     * (mimeType,file-extension) value pairs.
+     * @return {@code provider:player} names, highest priority first.  Players not in the
+     * list come after, sorted by name.
      */
-    protected abstract void initMimeTypes(HashMap<String, String> mimeTypes);
+    protected abstract String[] getPlayerPriority();
+
+    /**
+     * Indexes candidate players by media protocol or file extension.  Players are kept in
+     * priority order, highest first.
+     */
+    private static class ResolutionIndex {
+
+        private HashMap<String, List<PlayerInfo>> byExt = new HashMap<String, List<PlayerInfo>>(),
+                byProtocol = new HashMap<String, List<PlayerInfo>>();
+        private HashMap<PlayerInfo, Integer> ranks = new HashMap<PlayerInfo, Integer>();
+
+        public void add(PlayerInfo pi, Set<String> protocols, Set<String> exts) {
+            ranks.put(pi, ranks.size());
+            for (String prot : protocols) {
+                put(byProtocol, prot, pi);
+            }
+            for (String ext : exts) {
+                put(byExt, ext, pi);
+            }
+        }
+
+        private void put(HashMap<String, List<PlayerInfo>> map, String key, PlayerInfo pi) {
+            key = key.trim().toLowerCase();
+            List<PlayerInfo> pis = map.get(key);
+            if (pis == null) {
+                pis = new ArrayList<PlayerInfo>();
+                map.put(key, pis);
+            }
+            if (!pis.contains(pi)) {
+                pis.add(pi);
+            }
+        }
+
+        /**
+         * Returns the candidates for the protocol or file extension, highest priority first
+         */
+        public List<PlayerInfo> getCandidates(String protocol, String ext) {
+            List<PlayerInfo> byP = get(byProtocol, protocol), byE = get(byExt, ext);
+            ArrayList<PlayerInfo> pis = new ArrayList<PlayerInfo>(byP.size() + byE.size());
+            int i = 0, j = 0;
+            while (i < byP.size() || j < byE.size()) {   // merge by rank ...
+                PlayerInfo p = i < byP.size() ? byP.get(i) : null, e = j < byE.size() ? byE.get(j) : null;
+                if (e == null || (p != null && ranks.get(p) <= ranks.get(e))) {
+                    i++;
+                    if (p != e) {
+                        pis.add(p);
+                        continue;
+                    }
+                }
+                j++;
+                pis.add(e);
+            }
+            return pis;
+        }
+
+        private List<PlayerInfo> get(HashMap<String, List<PlayerInfo>> map, String key) {
+            List<PlayerInfo> pis = key == null ? null : map.get(key.toLowerCase());
+            return pis == null ? Collections.<PlayerInfo>emptyList() : pis;
+        }
+    }
+
+    private static final class MimeTable extends JavaScriptObject {
+
+        protected MimeTable() {
+        }
+
+        public native JsArrayString getExtensions(String mime) /*-{
+            return this.hasOwnProperty(mime) ? this[mime] : null;
+        }-*/;
+
+        public native JsArrayString getMimeTypes() /*-{
+            var mimes = [];
+            for (var mime in this) {
+                if (this.hasOwnProperty(mime)) {
+                    mimes.push(mime);
+                }
+            }
+            return mimes;
+        }-*/;
+    }
 }
@@ -26,38 +26,187 @@ import com.bramosystems.oss.player.util.client.MimeType;
 import com.bramosystems.oss.player.util.client.RegExp;
 import com.bramosystems.oss.player.util.client.RegExp.RegexException;
 import com.google.gwt.core.client.GWT;
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.storage.client.Storage;
 import com.google.gwt.user.client.ui.RootPanel;
+import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.HashMap;
 
 /**
+ * Detects the media plugins available on the browser.
+ *
+ * <p>Plugins are detected on first request rather than when the class is loaded.  The
+ * results are persisted in the browsers' local storage (if supported), keyed by a fingerprint
+ * of the installed plugins and mime types, such that later page loads reuse them without
+ * probing the plugins.  Persisted results are checked again in the background when the browser
+ * is idle, and the player resolution of the {@link PlayerManager} is refreshed if they changed.
  *
  * @author Sikirulai Braheem <sbraheem at bramosystems.com>
  */
 public class PluginManager {
 
+    private static final String STORAGE_KEY = "bstplayer.plugins";
+    // a null value marks a plugin that has been checked and not found ...
     private static final EnumMap<Plugin, PluginInfo> corePluginInfoMap = new EnumMap<Plugin, PluginInfo>(Plugin.class);
+    private static ArrayList<Plugin> staleQueue;
+    private static PluginManagerImpl impl;
+    private static String fingerprint;
 
-    static {
-        // init core plugin infoMap ...
-        PluginManagerImpl pmi = GWT.create(PluginManagerImpl.class);
-        for (Plugin p : Plugin.values()) {
-            try {
-                corePluginInfoMap.put(p, pmi.getPluginInfo(p));
-            } catch (PluginNotFoundException ex) {
-                // plugin not available ...
+    public static PluginInfo getPluginInfo(Plugin plugin) throws PluginNotFoundException {
+        if (fingerprint == null) {
+            restore();
+        }
+        if (!corePluginInfoMap.containsKey(plugin)) {
+            corePluginInfoMap.put(plugin, detect(plugin));
+            persist();
+        }
+        PluginInfo pi = corePluginInfoMap.get(plugin);
+        if (pi == null) {
+            throw new PluginNotFoundException(plugin);
+        }
+        return pi;
+    }
+
+    /**
+     * Discards the detected and persisted plugin information.  Plugins are detected again
+     * on the next request.
+     */
+    public static void clearCache() {
+        corePluginInfoMap.clear();
+        if (staleQueue != null) {
+            staleQueue.clear();
+        }
+        Storage store = Storage.getLocalStorageIfSupported();
+        if (store != null) {
+            store.removeItem(STORAGE_KEY);
+        }
+    }
+
+    private static PluginInfo detect(Plugin plugin) {
+        if (impl == null) {
+            impl = GWT.create(PluginManagerImpl.class);
+        }
+        try {
+            return impl.getPluginInfo(plugin);
+        } catch (PluginNotFoundException ex) {
+            return null;  // plugin not available ...
+        }
+    }
+
+    private static void restore() {
+        fingerprint = getFingerprint();
+        Storage store = Storage.getLocalStorageIfSupported();
+        String value = store == null ? null : store.getItem(STORAGE_KEY);
+        if (value == null || !value.startsWith(fingerprint + ";")) {   // plugins changed, detect afresh ...
+            return;
+        }
+        try {
+            staleQueue = new ArrayList<Plugin>();
+            for (String entry : value.substring(fingerprint.length() + 1).split(";")) {
+                if (entry.isEmpty()) {
+                    continue;
+                }
+                // plugin=major,minor,revision,wrapper or plugin=- ...
+                int eq = entry.indexOf('=');
+                Plugin p = Plugin.valueOf(entry.substring(0, eq));
+                String[] s = entry.substring(eq + 1).split(",");
+                corePluginInfoMap.put(p, s.length < 4 ? null : new PluginInfo(p,
+                        new PluginVersion(Integer.parseInt(s[0]), Integer.parseInt(s[1]), Integer.parseInt(s[2])),
+                        PluginInfo.PlayerPluginWrapperType.valueOf(s[3])));
+                staleQueue.add(p);
             }
+        } catch (Exception e) {   // corrupt entry, start afresh ...
+            corePluginInfoMap.clear();
+            staleQueue.clear();
         }
-   }
+        if (!staleQueue.isEmpty()) {
+            scheduleIdle(new Scheduler.ScheduledCommand() {
 
-    public static PluginInfo getPluginInfo(Plugin plugin) throws PluginNotFoundException {
-        if (corePluginInfoMap.containsKey(plugin)) {
-            return corePluginInfoMap.get(plugin);
-        } else {
-            throw new PluginNotFoundException(plugin);
+                @Override
+                public void execute() {
+                    revalidateNext(this);
+                }
+            });
         }
     }
 
+    /**
+     * Detects the next persisted plugin again, one plugin per idle period
+     */
+    private static void revalidateNext(Scheduler.ScheduledCommand next) {
+        if (staleQueue.isEmpty()) {
+            return;
+        }
+        Plugin p = staleQueue.remove(0);
+        PluginInfo cached = corePluginInfoMap.get(p);
+        PluginInfo current = detect(p);
+        if (!isSame(cached, current)) {
+            corePluginInfoMap.put(p, current);
+            persist();
+            PlayerManager.onPluginsChanged();
+        }
+        if (!staleQueue.isEmpty()) {
+            scheduleIdle(next);
+        }
+    }
+
+    private static boolean isSame(PluginInfo a, PluginInfo b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return a.getVersion().equals(b.getVersion()) && a.getWrapperType().equals(b.getWrapperType());
+    }
+
+    private static void persist() {
+        Storage store = Storage.getLocalStorageIfSupported();
+        if (store != null) {
+            StringBuilder sb = new StringBuilder(fingerprint).append(';');
+            for (Plugin p : corePluginInfoMap.keySet()) {
+                PluginInfo pi = corePluginInfoMap.get(p);
+                sb.append(p.name()).append('=');
+                if (pi == null) {
+                    sb.append('-');
+                } else {
+                    PluginVersion v = pi.getVersion();
+                    sb.append(v.getMajor()).append(',').append(v.getMinor()).append(',').append(v.getRevision())
+                            .append(',').append(pi.getWrapperType().name());
+                }
+                sb.append(';');
+            }
+            try {
+                store.setItem(STORAGE_KEY, sb.toString());
+            } catch (Exception ex) {   // storage quota exceeded ...
+            }
+        }
+    }
+
+    private static native String getFingerprint() /*-{
+    var nav = $wnd.navigator, h = 0, s = '';
+    try {
+    for (var i = 0; nav.plugins && i < nav.plugins.length; i++) {
+    var p = nav.plugins[i];
+    s += p.name + '|' + p.filename + '|' + p.description + '|' + p.length + ';';
+    }
+    s += (nav.mimeTypes ? nav.mimeTypes.length : 0) + '|' + nav.userAgent;
+    } catch(e) {}
+    for (var j = 0; j < s.length; j++) {
+    h = ((h << 5) - h + s.charCodeAt(j)) | 0;
+    }
+    return (h >>> 0).toString(36) + s.length.toString(36);
+    }-*/;
+
+    private static native void scheduleIdle(Scheduler.ScheduledCommand command) /*-{
+    var run = $entry(function() {
+    command.@com.google.gwt.core.client.Scheduler.ScheduledCommand::execute()();
+    });
+    if ($wnd.requestIdleCallback) {
+    $wnd.requestIdleCallback(run, {timeout: 10000});
+    } else {
+    $wnd.setTimeout(run, 2000);
+    }
+    }-*/;
+
     public static native boolean isHTML5CompliantClient() /*-{
     try {
     var t = new Audio();
@@ -0,0 +1,313 @@
+/*
+ * Copyright 2011 Sikiru Braheem.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bramosystems.oss.player.core.client.playlist;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Playlist backed directly by the entries of a parsed playlist.
+ *
+ * <p>The MRL of an entry is created by the {@link Source} the first time the entry
+ * is accessed and kept for subsequent calls, such that creating the playlist costs
+ * nothing regardless of the number of entries.  Read operations ({@link #get(int)},
+ * {@link #size()} and iteration) keep the playlist lazy; any other operation converts
+ * it into an ordinary playlist first.
+ *
+ * @author Sikiru Braheem
+ * @since 2.0.4
+ */
+public class LazyPlaylist extends Playlist {
+
+    private Source source;
+    private MRL[] cache;
+    private int count;
+
+    /**
+     * Creates a playlist backed by the specified {@code source}
+     *
+     * @param source the source of the playlist entries
+     */
+    public LazyPlaylist(Source source) {
+        this.source = source;
+        count = source.getSize();
+    }
+
+    /**
+     * Checks if the playlist entries are still created on demand
+     *
+     * @return {@code true} if entries are created on demand, {@code false} if
+     * the playlist has been converted into an ordinary playlist
+     */
+    public boolean isLazy() {
+        return source != null;
+    }
+
+    /**
+     * Returns a new lazy playlist over the source of this playlist.  The new playlist
+     * creates its own MRLs so that resource iteration state is not shared.
+     *
+     * @return the new playlist or {@code null} if this playlist is no longer lazy
+     */
+    LazyPlaylist newView() {
+        if (source == null) {
+            return null;
+        }
+        LazyPlaylist p = new LazyPlaylist(source);
+        p.setName(getName());
+        p.setAuthor(getAuthor());
+        return p;
+    }
+
+    private void materialize() {
+        if (source != null) {
+            Source s = source;
+            source = null;
+            super.ensureCapacity(count);
+            for (int i = 0; i < count; i++) {
+                MRL m = cache == null ? null : cache[i];
+                super.add(m == null ? s.createMRL(i) : m);
+            }
+            cache = null;
+        }
+    }
+
+    @Override
+    public MRL get(int index) {
+        if (source == null) {
+            return super.get(index);
+        }
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+        }
+        if (cache == null) {   // allocated once, on the first access ...
+            cache = new MRL[count];
+        }
+        MRL m = cache[index];
+        if (m == null) {
+            m = source.createMRL(index);
+            cache[index] = m;
+        }
+        return m;
+    }
+
+    @Override
+    public int size() {
+        return source == null ? super.size() : count;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public Iterator<MRL> iterator() {
+        if (source == null) {
+            return super.iterator();
+        }
+        return new Iterator<MRL>() {
+
+            private int next, last = -1;
+
+            @Override
+            public boolean hasNext() {
+                return next < size();
+            }
+
+            @Override
+            public MRL next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                last = next++;
+                return get(last);
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0) {
+                    throw new IllegalStateException();
+                }
+                LazyPlaylist.this.remove(last);
+                next = last;
+                last = -1;
+            }
+        };
+    }
+
+    @Override
+    public ListIterator<MRL> listIterator() {
+        materialize();
+        return super.listIterator();
+    }
+
+    @Override
+    public ListIterator<MRL> listIterator(int index) {
+        materialize();
+        return super.listIterator(index);
+    }
+
+    @Override
+    public boolean add(MRL o) {
+        materialize();
+        return super.add(o);
+    }
+
+    @Override
+    public void add(int index, MRL o) {
+        materialize();
+        super.add(index, o);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends MRL> c) {
+        materialize();
+        return super.addAll(c);
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends MRL> c) {
+        materialize();
+        return super.addAll(index, c);
+    }
+
+    @Override
+    public MRL set(int index, MRL o) {
+        materialize();
+        return super.set(index, o);
+    }
+
+    @Override
+    public MRL remove(int index) {
+        materialize();
+        return super.remove(index);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        materialize();
+        return super.remove(o);
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        materialize();
+        return super.removeAll(c);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        materialize();
+        return super.retainAll(c);
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int endIndex) {
+        materialize();
+        super.removeRange(fromIndex, endIndex);
+    }
+
+    @Override
+    public void clear() {
+        source = null;
+        cache = null;
+        super.clear();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        materialize();
+        return super.contains(o);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        materialize();
+        return super.indexOf(o);
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        materialize();
+        return super.lastIndexOf(o);
+    }
+
+    @Override
+    public Object[] toArray() {
+        materialize();
+        return super.toArray();
+    }
+
+    @Override
+    public <T> T[] toArray(T[] a) {
+        materialize();
+        return super.toArray(a);
+    }
+
+    @Override
+    public List<MRL> subList(int fromIndex, int toIndex) {
+        materialize();
+        return super.subList(fromIndex, toIndex);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        materialize();
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        materialize();
+        return super.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        materialize();
+        return super.toString();
+    }
+
+    /**
+     * Interface defines the methods required by the LazyPlaylist to access
+     * the entries of the underlying playlist
+     *
+     * @author Sikiru Braheem
+     * @since 2.0.4
+     */
+    public static interface Source {
+
+        /**
+         * Returns the number of entries in the underlying playlist
+         *
+         * @return the number of entries
+         */
+        public int getSize();
+
+        /**
+         * Called by the LazyPlaylist the first time the entry at the specified
+         * {@code index} is accessed
+         *
+         * @param index the index of the entry
+         * @return the MRL of the entry
+         */
+        public MRL createMRL(int index);
+    }
+}
@@ -29,6 +29,7 @@ import java.util.List;
 public class MRL {
 
     private int _index = -1;
+    private int[] _order;
     private ArrayList<String> _urls;
     private String _author, _name;
 
@@ -78,6 +79,34 @@ public class MRL {
      */
     public void addURL(String... urls) {
         _urls.addAll(Arrays.asList(urls));  
+        _order = null;
+    }
+
+    /**
+     * Orders the alternative URLs of the media with the specified ranker.  Subsequent
+     * {@link #getNextResource(boolean)} calls return the URLs in the ranked order, starting
+     * with the first.
+     * 
+     * @param ranker the ranker
+     * @since 2.0.4
+     */
+    public void rankResources(SourceRanker ranker) {
+        setResourceOrder(rank(ranker));
+    }
+
+    /**
+     * Returns the ranked order of the alternative URLs without changing the state of this locator
+     */
+    int[] rank(SourceRanker ranker) {
+        return ranker.rank(_urls);
+    }
+
+    /**
+     * Orders the alternative URLs with an order returned by {@link #rank(SourceRanker)}
+     */
+    void setResourceOrder(int[] order) {
+        _order = order;
+        _index = -1;
     }
 
     /**
@@ -90,8 +119,23 @@ public class MRL {
      */
     public String getNextResource(boolean roll) {
         _index++;
-        _index = (roll && (_index == _urls.size())) ? 0 : _index;
-        return _urls.get(_index);
+        _index = (roll && (_index == resourceCount())) ? 0 : _index;
+        if (_index >= resourceCount()) {
+            throw new IndexOutOfBoundsException("Index: " + _index + ", Size: " + resourceCount());
+        }
+        return resourceAt(_index);
+    }
+
+    /**
+     * Returns the URL that the next {@code getNextResource(true)} call returns, without
+     * moving to it
+     * 
+     * @return the next alternative URL of the media
+     * @since 2.0.4
+     */
+    public String peekNextResource() {
+        int i = _index + 1;
+        return resourceAt(i == resourceCount() ? 0 : i);
     }
 
     /**
@@ -101,7 +145,15 @@ public class MRL {
      * @return the current URL
      */
     public String getCurrentResource() {
-        return _urls.get(_index);
+        return resourceAt(_index);
+    }
+
+    private int resourceCount() {
+        return _order == null ? _urls.size() : _order.length;
+    }
+
+    private String resourceAt(int index) {
+        return _urls.get(_order == null ? index : _order[index]);
     }
     
     /**
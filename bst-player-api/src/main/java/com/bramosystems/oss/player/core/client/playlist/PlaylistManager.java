@@ -16,10 +16,13 @@
 package com.bramosystems.oss.player.core.client.playlist;
 
 import com.bramosystems.oss.player.core.client.*;
+import com.bramosystems.oss.player.core.client.impl.DebugPolicy;
+import com.bramosystems.oss.player.core.client.impl.playlist.IndexedList;
 import com.bramosystems.oss.player.core.client.impl.playlist.PlaylistIndexOracle;
 import com.bramosystems.oss.player.core.event.client.DebugEvent;
 import com.bramosystems.oss.player.core.event.client.PlayerStateEvent;
 import com.bramosystems.oss.player.core.event.client.PlayerStateHandler;
+import com.google.gwt.core.client.GWT;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -31,10 +34,16 @@ import java.util.List;
  */
 public class PlaylistManager implements PlaylistSupport {
 
-    private Playlist urls;
+    private static final DebugPolicy debugPolicy = GWT.create(DebugPolicy.class);
+    private List<MRL> urls;
     private ArrayList<String> msgCache;
     private PlayerCallback callback;
     private PlaylistIndexOracle indexOracle;
+    private SourceRanker sourceRanker;
+    private MRL peekedItem;
+    private int[] peekedOrder;
+    private int peekedCount;
+    private AbstractMediaPlayer player;
     private int pIndex;
     private boolean useCache;
 
@@ -42,7 +51,7 @@ public class PlaylistManager implements PlaylistSupport {
      * Creates the PlaylistManager object.
      */
     public PlaylistManager() {
-        urls = new Playlist();
+        urls = new IndexedList<MRL>();
         msgCache = new ArrayList<String>();
         indexOracle = new PlaylistIndexOracle();
         useCache = true;
@@ -56,6 +65,7 @@ public class PlaylistManager implements PlaylistSupport {
      */
     public PlaylistManager(final AbstractMediaPlayer player) {
         this();
+        this.player = player;
         callback = new PlayerCallback() {
 
             @Override
@@ -138,6 +148,29 @@ public class PlaylistManager implements PlaylistSupport {
         indexOracle.setRandomMode(enable);
     }
 
+    /**
+     * Seeds the shuffle order of the playlist.  Managers seeded with the same value
+     * play the same items in the same order.
+     *
+     * @param seed the seed
+     * @since 2.0.4
+     */
+    public void setShuffleSeed(int seed) {
+        indexOracle.setSeed(seed);
+    }
+
+    /**
+     * Sets the ranker used to order the alternative URLs of each playlist item before it
+     * is loaded.  Items are loaded with their URLs in declaration order if no ranker is set.
+     *
+     * @param ranker the ranker, or {@code null} to use the declaration order
+     * @since 2.0.4
+     */
+    public void setSourceRanker(SourceRanker ranker) {
+        sourceRanker = ranker;
+        peekedItem = null;
+    }
+
     @Override
     public void addToPlaylist(String mediaURL) {
         addToPlaylist(new MRL(mediaURL));
@@ -150,27 +183,77 @@ public class PlaylistManager implements PlaylistSupport {
 
     @Override
     public void addToPlaylist(List<MRL> mediaLocators) {
-        for (MRL mrl : mediaLocators) {
-            addToPlaylist(mrl);
+        if (urls.isEmpty() && (mediaLocators instanceof LazyPlaylist)) {
+            // adopt a view of the list, entries are created as the player gets to them ...
+            LazyPlaylist view = ((LazyPlaylist) mediaLocators).newView();
+            if (view != null) {
+                urls = view;
+                indexOracle.setIndexSize(urls.size());
+                _debug("Added {0} items to playlist", urls.size());
+                return;
+            }
         }
+        store().addAll(mediaLocators);
+        indexOracle.setIndexSize(urls.size());
+        _debug("Added {0} items to playlist", mediaLocators.size());
     }
 
     @Override
     public void addToPlaylist(MRL mediaLocator) {
-        urls.add(mediaLocator);
+        store().add(mediaLocator);
         indexOracle.incrementIndexSize();
-        _debug("Added to playlist - '" + mediaLocator + "'");
+        _debug("Added to playlist - '{0}'", mediaLocator);
     }
 
     @Override
     public void removeFromPlaylist(int index) {
-        _debug("Removed from playlist - '" + urls.remove(index) + "'");
+        MRL removed = store().remove(index);
+        _debug("Removed from playlist - '{0}'", removed);
         indexOracle.removeFromCache(index);
     }
 
+    @Override
+    public void removeFromPlaylist(int fromIndex, int toIndex) {
+        store().splice(fromIndex, toIndex - fromIndex, null);
+        indexOracle.removeRange(fromIndex, toIndex);
+        _debug("Removed {0} items from playlist", toIndex - fromIndex);
+    }
+
+    @Override
+    public void replacePlaylist(List<MRL> mediaLocators) {
+        clearPlaylist();
+        addToPlaylist(mediaLocators);
+    }
+
+    /**
+     * Inserts the media locator at the specified {@code index} of the playlist
+     * 
+     * @param index the index to insert at
+     * @param mediaLocator the media locator
+     * @since 2.0.4
+     */
+    public void insertIntoPlaylist(int index, MRL mediaLocator) {
+        store().add(index, mediaLocator);
+        indexOracle.insertIndex(index);
+        _debug("Inserted into playlist at {0} - '{1}'", index, mediaLocator);
+    }
+
+    /**
+     * Moves the playlist item at index {@code from} to index {@code to}
+     * 
+     * @param from the current index of the item
+     * @param to the new index of the item
+     * @since 2.0.4
+     */
+    public void moveInPlaylist(int from, int to) {
+        store().move(from, to);
+        indexOracle.moveIndex(from, to);
+    }
+
     @Override
     public void clearPlaylist() {
-        urls.clear();
+        urls = new IndexedList<MRL>();
+        indexOracle.setIndexSize(0);
         indexOracle.reset(false);
     }
 
@@ -272,6 +355,36 @@ public class PlaylistManager implements PlaylistSupport {
         return urls.get(getPlaylistIndex()).getCurrentResource();
     }
 
+    /**
+     * Returns the URL that the next call to {@link #playNext()} loads, without changing the
+     * state of the playlist
+     * 
+     * @return the URL of the next item or {@code null} if the end of the playlist is reached
+     * @since 2.0.4
+     */
+    public String getNextItem() {
+        int ind = indexOracle.peekIndex();
+        if (ind < 0) {
+            return null;
+        }
+        MRL m = urls.get(ind);
+        if (sourceRanker == null) {
+            return m.peekNextResource();
+        }
+
+        // rank without touching the item, the order is used when the item is loaded ...
+        if (!isPeeked(m)) {
+            peekedItem = m;
+            peekedOrder = m.rank(sourceRanker);
+            peekedCount = m.getResourceCount();
+        }
+        return m.getResource(peekedOrder[0]);
+    }
+
+    private boolean isPeeked(MRL m) {
+        return m == peekedItem && m.getResourceCount() == peekedCount;
+    }
+
     @Override
     public int getPlaylistSize() {
         return urls.size();
@@ -288,17 +401,32 @@ public class PlaylistManager implements PlaylistSupport {
     }
 
     private void _playOrLoadMedia(int index, boolean play) throws PlayException {
-        callback.load(urls.get(index).getNextResource(true));
+        MRL m = urls.get(index);
+        if (sourceRanker != null) {
+            m.setResourceOrder(isPeeked(m) ? peekedOrder : m.rank(sourceRanker));
+            peekedItem = null;
+        }
+        callback.load(m.getNextResource(true));
         if (play) {
             callback.play();
         }
     }
 
-    private void _debug(String msg) {
+    private IndexedList<MRL> store() {
+        if (!(urls instanceof IndexedList)) {   // edits convert an adopted playlist view, items are still created on demand ...
+            urls = IndexedList.over(urls);
+        }
+        return (IndexedList<MRL>) urls;
+    }
+
+    private void _debug(String pattern, Object... args) {
+        if (!debugPolicy.isEnabled()) {
+            return;
+        }
         if (useCache) {
-            msgCache.add(msg);
-        } else {
-            callback.onDebug(msg);
+            msgCache.add(DebugEvent.formatMessage(pattern, args));
+        } else if (player == null || player.isDebugEnabled(DebugEvent.MessageType.Info)) {
+            callback.onDebug(DebugEvent.formatMessage(pattern, args));
         }
     }
     
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2011 Sikiru Braheem.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bramosystems.oss.player.core.client.playlist;
+
+import com.google.gwt.storage.client.Storage;
+import com.google.gwt.user.client.Timer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Orders the alternative URLs of an MRL by their expected cost of loading.
+ *
+ * <p>Load outcomes are recorded per host and file extension: the number of successful and
+ * failed loads, and the average time to a successful load.  The statistics are shared by
+ * all rankers and persisted in the browsers' local storage (if supported), at most once
+ * every few seconds.  Statistics are kept for the {@value #MAX_ENTRIES} most recently used
+ * host and extension pairs.
+ *
+ * <p>URLs with a file extension that the player is known not to support are left out of
+ * the order, unless every URL of the MRL is.
+ *
+ * @author Sikiru Braheem
+ * @since 2.0.4
+ * @see MRL#rankResources(SourceRanker)
+ */
+public class SourceRanker {
+
+    /**
+     * The maximum number of host and extension pairs with statistics
+     */
+    public static final int MAX_ENTRIES = 100;
+    private static final String STORAGE_KEY = "bstplayer.sourceStats";
+    private static final double DEFAULT_LATENCY = 1000, FAILURE_PENALTY = 5000;
+    private static final int PERSIST_DELAY = 5000;
+    private static LinkedHashMap<String, double[]> stats;
+    private static Timer persistTimer;
+    private static boolean persistScheduled;
+    private Set<String> unplayableExtensions;
+    private String pendingKey;
+    private double pendingStart;
+
+    /**
+     * Creates a ranker that considers every URL playable
+     */
+    public SourceRanker() {
+        this(null);
+    }
+
+    /**
+     * Creates a ranker that leaves out URLs with any of the specified file extensions
+     *
+     * @param unplayableExtensions the file extensions (in lower case) the player cannot play
+     */
+    public SourceRanker(Set<String> unplayableExtensions) {
+        this.unplayableExtensions = unplayableExtensions;
+        if (stats == null) {
+            stats = new LinkedHashMap<String, double[]>(16, 0.75f, true) {
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, double[]> eldest) {
+                    return size() > MAX_ENTRIES;
+                }
+            };
+            restore();
+        }
+    }
+
+    /**
+     * Returns the indices of the specified URLs in the order they should be tried
+     *
+     * @param urls the alternative URLs of a media
+     * @return the indices of the URLs
+     */
+    public int[] rank(List<String> urls) {
+        ArrayList<Integer> order = new ArrayList<Integer>();
+        for (int i = 0; i < urls.size(); i++) {
+            if (canPlay(urls.get(i))) {
+                order.add(i);
+            }
+        }
+        if (order.isEmpty()) {
+            for (int i = 0; i < urls.size(); i++) {
+                order.add(i);
+            }
+        }
+
+        int[] ranks = new int[order.size()];
+        double[] costs = new double[ranks.length];
+        for (int i = 0; i < ranks.length; i++) {   // insertion sort, keeps declaration order on ties ...
+            int index = order.get(i);
+            double cost = getExpectedCost(urls.get(index));
+            int j = i;
+            while (j > 0 && costs[j - 1] > cost) {
+                ranks[j] = ranks[j - 1];
+                costs[j] = costs[j - 1];
+                j--;
+            }
+            ranks[j] = index;
+            costs[j] = cost;
+        }
+        return ranks;
+    }
+
+    /**
+     * Checks if the player can play the media at the specified URL
+     *
+     * @param url the URL
+     * @return {@code false} if the URL has one of the unplayable extensions, {@code true} otherwise
+     */
+    protected boolean canPlay(String url) {
+        return unplayableExtensions == null || !unplayableExtensions.contains(getExtension(url));
+    }
+
+    /**
+     * Called when the player starts loading the specified URL
+     *
+     * @param url the URL
+     */
+    public void onLoadStarted(String url) {
+        pendingKey = getKey(url);
+        pendingStart = System.currentTimeMillis();
+    }
+
+    /**
+     * Called when the URL passed to the last {@link #onLoadStarted(String)} call has loaded
+     */
+    public void onLoadSucceeded() {
+        if (pendingKey != null) {
+            double[] s = getStats(pendingKey);
+            double latency = System.currentTimeMillis() - pendingStart;
+            s[2] = s[0] == 0 ? latency : (s[2] * 3 + latency) / 4;
+            s[0]++;
+            pendingKey = null;
+            schedulePersist();
+        }
+    }
+
+    /**
+     * Called when the URL passed to the last {@link #onLoadStarted(String)} call has failed
+     * to load
+     */
+    public void onLoadFailed() {
+        if (pendingKey != null) {
+            getStats(pendingKey)[1]++;
+            pendingKey = null;
+            schedulePersist();
+        }
+    }
+
+    private double getExpectedCost(String url) {
+        double[] s = stats.get(getKey(url));
+        if (s == null) {
+            return DEFAULT_LATENCY + FAILURE_PENALTY / 2;
+        }
+        double failure = (s[1] + 1) / (s[0] + s[1] + 2);
+        return (s[0] == 0 ? DEFAULT_LATENCY : s[2]) + failure * FAILURE_PENALTY;
+    }
+
+    private double[] getStats(String key) {
+        double[] s = stats.get(key);
+        if (s == null) {
+            s = new double[3];  // successes, failures, average latency ...
+            stats.put(key, s);
+        }
+        return s;
+    }
+
+    private static String getKey(String url) {
+        String host = "";
+        int i = url.indexOf("://");
+        if (i > 0) {
+            int j = url.indexOf('/', i + 3);
+            host = (j < 0 ? url.substring(i + 3) : url.substring(i + 3, j)).toLowerCase();
+        }
+        return host + "|" + getExtension(url);
+    }
+
+    private static String getExtension(String url) {
+        int end = url.length();
+        int q = url.indexOf('?');
+        if (q >= 0) {
+            end = q;
+        }
+        q = url.indexOf('#');
+        if (q >= 0 && q < end) {
+            end = q;
+        }
+        int dot = url.lastIndexOf('.', end);
+        int slash = url.lastIndexOf('/', end);
+        return (dot > slash) ? url.substring(dot + 1, end).toLowerCase() : "";
+    }
+
+    private static void restore() {
+        Storage store = Storage.getLocalStorageIfSupported();
+        String value = store == null ? null : store.getItem(STORAGE_KEY);
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        try {
+            for (String entry : value.split(";")) {
+                int eq = entry.lastIndexOf('=');
+                String[] s = entry.substring(eq + 1).split(",");
+                stats.put(entry.substring(0, eq), new double[]{Double.parseDouble(s[0]),
+                            Double.parseDouble(s[1]), Double.parseDouble(s[2])});
+            }
+        } catch (Exception e) {   // corrupt stats, start afresh ...
+            stats.clear();
+        }
+    }
+
+    private static void schedulePersist() {
+        if (persistTimer == null) {
+            persistTimer = new Timer() {
+
+                @Override
+                public void run() {
+                    persistScheduled = false;
+                    persist();
+                }
+            };
+        }
+        if (!persistScheduled) {   // load events come in bursts, write once per burst ...
+            persistScheduled = true;
+            persistTimer.schedule(PERSIST_DELAY);
+        }
+    }
+
+    private static void persist() {
+        Storage store = Storage.getLocalStorageIfSupported();
+        if (store != null) {
+            StringBuilder sb = new StringBuilder();
+            for (Map.Entry<String, double[]> e : stats.entrySet()) {   // least recently used first ...
+                double[] s = e.getValue();
+                if (sb.length() > 0) {
+                    sb.append(';');
+                }
+                sb.append(e.getKey()).append('=').append((int) s[0]).append(',').append((int) s[1]).append(',').append((int) s[2]);
+            }
+            store.setItem(STORAGE_KEY, sb.toString());
+        }
+    }
+}
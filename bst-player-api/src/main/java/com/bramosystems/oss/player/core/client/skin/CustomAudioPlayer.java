@@ -17,16 +17,6 @@ package com.bramosystems.oss.player.core.client.skin;
 
 import com.bramosystems.oss.player.core.client.playlist.MRL;
 import com.bramosystems.oss.player.core.client.*;
-import com.bramosystems.oss.player.core.event.client.DebugEvent;
-import com.bramosystems.oss.player.core.event.client.DebugHandler;
-import com.bramosystems.oss.player.core.event.client.LoadingProgressEvent;
-import com.bramosystems.oss.player.core.event.client.LoadingProgressHandler;
-import com.bramosystems.oss.player.core.event.client.MediaInfoEvent;
-import com.bramosystems.oss.player.core.event.client.MediaInfoHandler;
-import com.bramosystems.oss.player.core.event.client.PlayStateEvent;
-import com.bramosystems.oss.player.core.event.client.PlayStateHandler;
-import com.bramosystems.oss.player.core.event.client.PlayerStateEvent;
-import com.bramosystems.oss.player.core.event.client.PlayerStateHandler;
 import com.google.gwt.user.client.ui.AbsolutePanel;
 import com.google.gwt.user.client.ui.SimplePanel;
 import com.google.gwt.user.client.ui.Widget;
@@ -67,41 +57,7 @@ public abstract class CustomAudioPlayer extends AbstractMediaPlayer implements P
             String height, String width) throws PluginNotFoundException,
             PluginVersionException {
         engine = PlayerUtil.getPlayer(playerPlugin, mediaURL, autoplay, null, null);
-        engine.addDebugHandler(new DebugHandler() {
-
-            @Override
-            public void onDebug(DebugEvent event) {
-                fireEvent(event);
-            }
-        });
-        engine.addLoadingProgressHandler(new LoadingProgressHandler() {
-
-            @Override
-            public void onLoadingProgress(LoadingProgressEvent event) {
-                fireEvent(event);
-            }
-        });
-        engine.addMediaInfoHandler(new MediaInfoHandler() {
-
-            @Override
-            public void onMediaInfoAvailable(MediaInfoEvent event) {
-                fireEvent(event);
-            }
-        });
-        engine.addPlayStateHandler(new PlayStateHandler() {
-
-            @Override
-            public void onPlayStateChanged(PlayStateEvent event) {
-                fireEvent(event);
-            }
-        });
-        engine.addPlayerStateHandler(new PlayerStateHandler() {
-
-            @Override
-            public void onPlayerStateChanged(PlayerStateEvent event) {
-                fireEvent(event);
-            }
-        });
+        wrapEvents(engine);
 
         controller = new SimplePanel();
         controller.setWidth("100%");
@@ -246,6 +202,13 @@ public abstract class CustomAudioPlayer extends AbstractMediaPlayer implements P
         }
     }
 
+    @Override
+    public void removeFromPlaylist(int fromIndex, int toIndex) {
+        if (engine instanceof PlaylistSupport) {
+            ((PlaylistSupport) engine).removeFromPlaylist(fromIndex, toIndex);
+        }
+    }
+
     @Override
     public void clearPlaylist() {
         if (engine instanceof PlaylistSupport) {
@@ -253,6 +216,13 @@ public abstract class CustomAudioPlayer extends AbstractMediaPlayer implements P
         }
     }
 
+    @Override
+    public void replacePlaylist(List<MRL> mediaLocators) {
+        if (engine instanceof PlaylistSupport) {
+            ((PlaylistSupport) engine).replacePlaylist(mediaLocators);
+        }
+    }
+
     @Override
     public int getPlaylistSize() {
         if (engine instanceof PlaylistSupport) {
@@ -30,12 +30,12 @@ import com.bramosystems.oss.player.core.client.PlayerUtil;
 import com.bramosystems.oss.player.core.client.PlayException;
 import com.bramosystems.oss.player.core.client.AbstractMediaPlayer;
 import com.bramosystems.oss.player.core.client.PlaylistSupport;
+import com.bramosystems.oss.player.core.client.impl.PlaybackClock;
 import com.bramosystems.oss.player.core.client.skin.flat.FlatImagePack;
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.event.dom.client.ClickEvent;
 import com.google.gwt.event.dom.client.ClickHandler;
 import com.google.gwt.resources.client.CssResource;
-import com.google.gwt.user.client.Timer;
 import com.google.gwt.user.client.ui.*;
 
 /**
@@ -58,12 +58,13 @@ public class CustomPlayerControl extends Composite {
 
     private final String STYLE_NAME = "player-CustomPlayerControl";
     private ButtonBase play, stop, prev, next;
-    private Timer playTimer;
+    private PlaybackClock.Task playTimer;
     private CSSSeekBar seekbar;
     private Label timeLabel;
     private AbstractMediaPlayer player;
     private PlayState playState;
     private VolumeControl vc;
+    private double lastPosition;
 
     /**
      * Contructs CustomPlayerControl object.
@@ -126,14 +127,16 @@ public class CustomPlayerControl extends Composite {
     }
 
     private void setTime(long time, long duration) {
-        timeLabel.setText(PlayerUtil.formatMediaTime(time)
-                + " / " + PlayerUtil.formatMediaTime(duration));
+        String text = PlayerUtil.formatMediaTime(time) + " / " + PlayerUtil.formatMediaTime(duration);
+        if (!text.equals(timeLabel.getText())) {
+            timeLabel.setText(text);
+        }
     }
 
     private void toPlayState(PlayState state, UIStyleResource imgPack) {
         switch (state) {
             case Playing:
-                playTimer.scheduleRepeating(1000);
+                playTimer.start();
                 vc.setVolume(player.getVolume());
 
                 stop.setEnabled(true);
@@ -155,11 +158,14 @@ public class CustomPlayerControl extends Composite {
         playState = state;
     }
 
-    private void updateSeekState() {
+    private boolean updateSeekState() {
         double pos = player.getPlayPosition();
         long duration = player.getMediaDuration();
         setTime((long) pos, duration);
         seekbar.setPlayingProgress(duration > 0 ? pos / duration : 0);
+        boolean changed = pos != lastPosition;
+        lastPosition = pos;
+        return changed;
     }
 
     private enum PlayState {
@@ -182,11 +188,11 @@ public class CustomPlayerControl extends Composite {
             }
         });
 
-        playTimer = new Timer() {
+        playTimer = new PlaybackClock.Task(1000) {
 
             @Override
-            public void run() {
-                updateSeekState();
+            protected boolean run() {
+                return updateSeekState();
             }
         };
 
@@ -272,8 +278,12 @@ public class CustomPlayerControl extends Composite {
             @Override
             public void onLoadingProgress(LoadingProgressEvent event) {
                 seekbar.setLoadingProgress(event.getProgress());
-                vc.setVolume(player.getVolume());
-                updateSeekState();
+                if (event.getProgress() >= 1.0) {
+                    vc.setVolume(player.getVolume());
+                }
+                if (playState != PlayState.Playing) {   // playTimer keeps the seek state while playing ...
+                    updateSeekState();
+                }
             }
         });
         player.addPlayStateHandler(new PlayStateHandler() {
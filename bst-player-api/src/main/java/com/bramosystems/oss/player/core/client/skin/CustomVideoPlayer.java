@@ -20,6 +20,7 @@ import com.bramosystems.oss.player.core.client.geom.MatrixSupport;
 import com.bramosystems.oss.player.core.client.geom.TransformationMatrix;
 import com.bramosystems.oss.player.core.client.*;
 import com.bramosystems.oss.player.core.event.client.*;
+import com.google.gwt.event.shared.GwtEvent;
 import com.google.gwt.user.client.ui.FlowPanel;
 import com.google.gwt.user.client.ui.SimplePanel;
 import com.google.gwt.user.client.ui.Widget;
@@ -68,45 +69,13 @@ public abstract class CustomVideoPlayer extends AbstractMediaPlayer implements P
         }
 
         engine = PlayerUtil.getPlayer(playerPlugin, mediaURL, autoplay, height, "100%");
-        engine.addDebugHandler(new DebugHandler() {
-
-            @Override
-            public void onDebug(DebugEvent event) {
-                fireEvent(event);
-            }
-        });
-        engine.addLoadingProgressHandler(new LoadingProgressHandler() {
-
-            @Override
-            public void onLoadingProgress(LoadingProgressEvent event) {
-                fireEvent(event);
-            }
-        });
-        engine.addMediaInfoHandler(new MediaInfoHandler() {
-
-            @Override
-            public void onMediaInfoAvailable(MediaInfoEvent event) {
-                fireEvent(event);
-            }
-        });
-        engine.addPlayStateHandler(new PlayStateHandler() {
-
-            @Override
-            public void onPlayStateChanged(PlayStateEvent event) {
-                fireEvent(event);
-            }
-        });
+        wrapEvents(engine);
         engine.addPlayerStateHandler(new PlayerStateHandler() {
 
             @Override
             public void onPlayerStateChanged(PlayerStateEvent event) {
-                switch (event.getPlayerState()) {
-                    case DimensionChangedOnVideo:
-                        onVideoDimensionChanged(engine.getOffsetWidth(),
-                                engine.getOffsetHeight());
-                        break;
-                    default:
-                        fireEvent(event);
+                if (event.getPlayerState() == PlayerStateEvent.State.DimensionChangedOnVideo) {
+                    onVideoDimensionChanged(engine.getOffsetWidth(), engine.getOffsetHeight());
                 }
             }
         });
@@ -255,6 +224,13 @@ public abstract class CustomVideoPlayer extends AbstractMediaPlayer implements P
         }
     }
 
+    @Override
+    public void removeFromPlaylist(int fromIndex, int toIndex) {
+        if (engine instanceof PlaylistSupport) {
+            ((PlaylistSupport) engine).removeFromPlaylist(fromIndex, toIndex);
+        }
+    }
+
     @Override
     public void clearPlaylist() {
         if (engine instanceof PlaylistSupport) {
@@ -262,6 +238,13 @@ public abstract class CustomVideoPlayer extends AbstractMediaPlayer implements P
         }
     }
 
+    @Override
+    public void replacePlaylist(List<MRL> mediaLocators) {
+        if (engine instanceof PlaylistSupport) {
+            ((PlaylistSupport) engine).replacePlaylist(mediaLocators);
+        }
+    }
+
     @Override
     public int getPlaylistSize() {
         if (engine instanceof PlaylistSupport) {
@@ -348,6 +331,17 @@ public abstract class CustomVideoPlayer extends AbstractMediaPlayer implements P
      */
     protected abstract void onVideoDimensionChanged(int width, int height);
 
+    /**
+     * Overridden to keep <code>State.DimensionChangedOnVideo</code> events of the embedded player
+     * from the handlers of this player.  Such events are reported with
+     * {@link #onVideoDimensionChanged(int, int)} instead.
+     */
+    @Override
+    protected boolean isWrappedEventDispatched(GwtEvent<?> event) {
+        return !(event instanceof PlayerStateEvent)
+                || ((PlayerStateEvent) event).getPlayerState() != PlayerStateEvent.State.DimensionChangedOnVideo;
+    }
+
     @Override
     public double getRate() {
         return engine.getRate();
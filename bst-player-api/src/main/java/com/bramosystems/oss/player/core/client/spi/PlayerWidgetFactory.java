@@ -0,0 +1,56 @@
+/*
+ * Copyright 2013 sbraheem.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bramosystems.oss.player.core.client.spi;
+
+import com.bramosystems.oss.player.core.client.AbstractMediaPlayer;
+import com.bramosystems.oss.player.core.client.PluginNotFoundException;
+import com.bramosystems.oss.player.core.client.PluginVersionException;
+
+/**
+ * Creates the player widgets of a player provider.
+ *
+ * <p>Providers may declare an interface that extends this interface, nested in the
+ * {@link PlayerProvider} annotated class, and delegate player creation to an instance
+ * of it created with {@code GWT.create()}.  The implementation is generated with a
+ * reference to the players compiled in only (see the {@code bstplayer.providers} and
+ * {@code bstplayer.players} configuration properties), such that the code of the other
+ * players is left out of the compiled application.
+ *
+ * <p>The players are created with their {@code (mediaURL, autoplay, height, width)}
+ * and {@code (mediaURL, autoplay)} constructors.
+ *
+ * @author Sikirulai Braheem <sbraheem at bramosystems.com>
+ * @since 2.0.4
+ * @see PlayerProviderFactory#getPlayer(String, String, boolean, String, String)
+ */
+public interface PlayerWidgetFactory {
+
+    /**
+     * Returns the player with the specified {@code playerName}
+     *
+     * @throws IllegalArgumentException if {@code playerName} is not compiled in
+     */
+    public AbstractMediaPlayer getPlayer(String playerName, String mediaURL,
+            boolean autoplay, String height, String width) throws PluginNotFoundException, PluginVersionException;
+
+    /**
+     * Returns the player with the specified {@code playerName}
+     *
+     * @throws IllegalArgumentException if {@code playerName} is not compiled in
+     */
+    public AbstractMediaPlayer getPlayer(String playerName, String mediaURL,
+            boolean autoplay) throws PluginNotFoundException, PluginVersionException;
+}
@@ -18,15 +18,25 @@ package com.bramosystems.oss.player.core.client.ui;
 import com.bramosystems.oss.player.core.client.AbstractMediaPlayer;
 import com.bramosystems.oss.player.core.event.client.DebugEvent;
 import com.bramosystems.oss.player.core.event.client.DebugHandler;
+import com.google.gwt.animation.client.AnimationScheduler;
 import com.google.gwt.core.client.GWT;
+import com.google.gwt.dom.client.Document;
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.dom.client.Style;
+import com.google.gwt.event.dom.client.ScrollEvent;
+import com.google.gwt.event.dom.client.ScrollHandler;
 import com.google.gwt.resources.client.ClientBundle;
 import com.google.gwt.resources.client.ImageResource;
 import com.google.gwt.user.client.DOM;
 import com.google.gwt.user.client.ui.*;
+import java.util.ArrayList;
 
 /**
  * Provides a widget for logging purposes especially useful during debugging.
  *
+ * <p>The logger retains a limited number of the most recent messages (see {@link #setCapacity(int)})
+ * and renders only those visible in its console.
+ *
  * @since 0.6
  * @author Sikirulai Braheem <sbraheem at gmail.com>
  */
@@ -82,6 +92,36 @@ public class Logger extends Composite {
         impl.log(message, asHTML);
     }
 
+    /**
+     * Sets the maximum number of messages retained by this logger.  The oldest messages
+     * are discarded first.  Defaults to 500.
+     *
+     * @param capacity the number of messages
+     * @since 2.0.4
+     */
+    public void setCapacity(int capacity) {
+        impl.setCapacity(capacity);
+    }
+
+    /**
+     * Returns the messages retained by this logger, oldest first, one message per line
+     *
+     * @return the retained messages
+     * @since 2.0.4
+     */
+    public String getHistory() {
+        return impl.getHistory();
+    }
+
+    /**
+     * Removes all messages from this logger
+     *
+     * @since 2.0.4
+     */
+    public void clear() {
+        impl.clear();
+    }
+
     interface ImgPack extends ClientBundle {
 
         @Source("expandLogger.png")
@@ -91,32 +131,148 @@ public class Logger extends Composite {
         ImageResource disclosurePanelOpen();
     }
 
+    /**
+     * Console backed by a ring buffer of messages.  Rows have a fixed height, such that only
+     * the rows in view are rendered; messages logged within an animation frame are rendered
+     * together.  Messages longer than a row are cut off, the full text is the title of the row.
+     */
     static class LoggerConsoleImpl {
 
-        private FlowPanel console;
+        private static final int ROW_HEIGHT = 16, CONSOLE_HEIGHT = 200;
+        private String[] messages;
+        private boolean[] html;
+        private int head, count;
+        private boolean renderScheduled, followTail = true;
         private ScrollPanel sp;
+        private Element canvas;
+        private ArrayList<Element> rows = new ArrayList<Element>();
 
         public LoggerConsoleImpl() {
+            setCapacity(500);
         }
 
         public Widget getConsole() {
-            console = new FlowPanel();
+            SimplePanel console = new SimplePanel();
+            canvas = console.getElement();
+            canvas.getStyle().setPosition(Style.Position.RELATIVE);
             sp = new ScrollPanel(console);
             DOM.setStyleAttribute(sp.getElement(), "background", "white");
             DOM.setStyleAttribute(sp.getElement(), "border", "1px solid #ccc");
             DOM.setStyleAttribute(sp.getElement(), "fontSize", "10pt");
             DOM.setStyleAttribute(sp.getElement(), "padding", "5px");
-            sp.setHeight("200px");
+            sp.setHeight(CONSOLE_HEIGHT + "px");
+            sp.addScrollHandler(new ScrollHandler() {
+
+                @Override
+                public void onScroll(ScrollEvent event) {
+                    Element e = sp.getElement();
+                    followTail = e.getScrollTop() + e.getClientHeight() >= e.getScrollHeight() - ROW_HEIGHT;
+                    scheduleRender();
+                }
+            });
             return sp;
         }
 
         public void log(String message, boolean asHTML) {
-            if (asHTML) {
-                console.add(new HTML("- " + message));
+            int i = (head + count) % messages.length;
+            if (count == messages.length) {  // full, overwrite the oldest ...
+                head = (head + 1) % messages.length;
             } else {
-                console.add(new Label("- " + message));
+                count++;
+            }
+            messages[i] = message;
+            html[i] = asHTML;
+            scheduleRender();
+        }
+
+        public void setCapacity(int capacity) {
+            capacity = Math.max(1, capacity);
+            String[] m = new String[capacity];
+            boolean[] h = new boolean[capacity];
+            int keep = Math.min(count, capacity);
+            for (int i = 0; i < keep; i++) {   // keep the most recent ...
+                int j = (head + count - keep + i) % messages.length;
+                m[i] = messages[j];
+                h[i] = html[j];
+            }
+            messages = m;
+            html = h;
+            head = 0;
+            count = keep;
+            scheduleRender();
+        }
+
+        public String getHistory() {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < count; i++) {
+                sb.append(messages[(head + i) % messages.length]).append('\n');
+            }
+            return sb.toString();
+        }
+
+        public void clear() {
+            messages = new String[messages.length];
+            html = new boolean[html.length];
+            head = 0;
+            count = 0;
+            scheduleRender();
+        }
+
+        private void scheduleRender() {
+            if (!renderScheduled && sp != null) {
+                renderScheduled = true;
+                AnimationScheduler.get().requestAnimationFrame(new AnimationScheduler.AnimationCallback() {
+
+                    @Override
+                    public void execute(double timestamp) {
+                        renderScheduled = false;
+                        render();
+                    }
+                });
+            }
+        }
+
+        private void render() {
+            canvas.getStyle().setHeight(count * ROW_HEIGHT, Style.Unit.PX);
+            Element e = sp.getElement();
+            int viewHeight = e.getClientHeight() > 0 ? e.getClientHeight() : CONSOLE_HEIGHT;
+            if (followTail) {
+                sp.scrollToBottom();
+            }
+            int first = Math.max(0, e.getScrollTop() / ROW_HEIGHT - 1);
+            int visible = Math.min(count - first, viewHeight / ROW_HEIGHT + 3);
+
+            while (rows.size() < visible) {   // rows are reused as the view scrolls ...
+                Element row = Document.get().createDivElement();
+                Style s = row.getStyle();
+                s.setPosition(Style.Position.ABSOLUTE);
+                s.setLeft(0, Style.Unit.PX);
+                s.setRight(0, Style.Unit.PX);
+                s.setHeight(ROW_HEIGHT, Style.Unit.PX);
+                s.setLineHeight(ROW_HEIGHT, Style.Unit.PX);
+                s.setOverflow(Style.Overflow.HIDDEN);
+                s.setWhiteSpace(Style.WhiteSpace.NOWRAP);
+                s.setProperty("textOverflow", "ellipsis");
+                canvas.appendChild(row);
+                rows.add(row);
+            }
+            for (int r = 0; r < rows.size(); r++) {
+                Element row = rows.get(r);
+                if (r >= visible) {
+                    row.getStyle().setDisplay(Style.Display.NONE);
+                    continue;
+                }
+                int i = (head + first + r) % messages.length;
+                row.getStyle().setTop((first + r) * ROW_HEIGHT, Style.Unit.PX);
+                row.getStyle().clearDisplay();
+                if (html[i]) {
+                    row.setInnerHTML("- " + messages[i]);
+                    row.setTitle(row.getInnerText().substring(2));
+                } else {
+                    row.setInnerText("- " + messages[i]);
+                    row.setTitle(messages[i]);
+                }
             }
-            sp.scrollToBottom();
         }
     }
 
@@ -133,5 +289,18 @@ public class Logger extends Composite {
         @Override
         public void log(String message, boolean asHTML) {
         }
+
+        @Override
+        public void setCapacity(int capacity) {
+        }
+
+        @Override
+        public String getHistory() {
+            return "";
+        }
+
+        @Override
+        public void clear() {
+        }
     }
 }
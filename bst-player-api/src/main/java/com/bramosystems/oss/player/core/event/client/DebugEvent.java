@@ -51,6 +51,41 @@ public class DebugEvent extends GwtEvent<DebugHandler> {
         source.fireEvent(new DebugEvent(type, message));
     }
 
+    /**
+     * Formats a debug message by replacing each <code>{n}</code> placeholder in the
+     * {@code pattern} with the string value of the argument at index {@code n}
+     *
+     * @param pattern the message pattern
+     * @param args the message arguments
+     * @return the formatted message
+     * @since 2.0.4
+     */
+    public static String formatMessage(String pattern, Object... args) {
+        if (args.length == 0) {
+            return pattern;
+        }
+        StringBuilder sb = new StringBuilder(pattern.length() + 16 * args.length);
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            int end = c == '{' ? pattern.indexOf('}', i) : -1;
+            if (end > i + 1) {
+                try {
+                    int n = Integer.parseInt(pattern.substring(i + 1, end));
+                    if (n >= 0 && n < args.length) {
+                        sb.append(args[n]);
+                        i = end + 1;
+                        continue;
+                    }
+                } catch (NumberFormatException e) {   // not a placeholder ...
+                }
+            }
+            sb.append(c);
+            i++;
+        }
+        return sb.toString();
+    }
+
     @Override
     public Type<DebugHandler> getAssociatedType() {
         return TYPE;
@@ -20,14 +20,21 @@ import com.bramosystems.oss.player.core.client.PlaylistSupport;
 import com.bramosystems.oss.player.core.client.geom.MatrixSupport;
 import com.bramosystems.oss.player.core.client.spi.Player;
 import com.bramosystems.oss.player.core.client.spi.PlayerProvider;
+import com.bramosystems.oss.player.core.client.spi.PlayerWidgetFactory;
 import com.google.gwt.core.ext.*;
 import com.google.gwt.core.ext.typeinfo.JClassType;
+import com.google.gwt.core.ext.typeinfo.JPrimitiveType;
+import com.google.gwt.core.ext.typeinfo.JRealClassType;
+import com.google.gwt.core.ext.typeinfo.JType;
 import com.google.gwt.core.ext.typeinfo.NotFoundException;
 import com.google.gwt.core.ext.typeinfo.TypeOracle;
 import com.google.gwt.user.rebind.ClassSourceFileComposerFactory;
 import com.google.gwt.user.rebind.SourceWriter;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.PrintWriter;
+import java.net.URL;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -36,54 +43,83 @@ import java.util.regex.Pattern;
  *
  * @author Sikiru
  */
-public class PlayerManagerGenerator extends Generator {
+public class PlayerManagerGenerator extends IncrementalGenerator {
 
+    private static final String INPUT_KEY = "bstplayer.inputs", TYPES_KEY = "bstplayer.types";
+    private static final String PLAYER_REGISTRY = "META-INF/bstplayer/player-registry.txt";
     private final String DEFAULT_MIME_TYPES_FILE = "default-mime-types.properties";
     private String className = null, packageName = null;
     private TreeLogger logger;
     private HashMap<String, _provider> pMap = new HashMap<String, _provider>();
     private HashMap<String, String> mimeMap = new HashMap<String, String>();
+    private ArrayList<String> priority = new ArrayList<String>();
+    private TreeSet<String> inputTypes = new TreeSet<String>();
 
     public PlayerManagerGenerator() {
         // init plugin props ...
     }
 
     @Override
-    public String generate(TreeLogger logger, GeneratorContext context, String typeName)
+    public long getVersionId() {
+        return 3;
+    }
+
+    @Override
+    public RebindResult incrementalGenerate(TreeLogger logger, GeneratorContext context, String typeName)
             throws UnableToCompleteException {
         this.logger = logger;
+        pMap.clear();
+        mimeMap.clear();
+        priority.clear();
+        inputTypes.clear();
         TypeOracle typeOracle = context.getTypeOracle();
 
         try {
             // get classType and save instance variables
             JClassType classType = typeOracle.getType(typeName);
             packageName = classType.getPackage().getName();
-            className = classType.getSimpleSourceName() + "Impl";
+            className = classType.getName().replace('.', '_') + "Impl";
+            boolean widgetFactory = classType.isAssignableTo(typeOracle.getType(PlayerWidgetFactory.class.getName()));
+
+            // reuse the last result if nothing changed, checked before the generator input is collated ...
+            String inputs = getInputStamp(context);
+            CachedGeneratorResult cached = context.getCachedGeneratorResult();
+            if (cached != null && context.isGeneratorResultCachingEnabled()
+                    && inputs.equals(cached.getClientData(INPUT_KEY))
+                    && isUnchangedSince(typeOracle, (String) cached.getClientData(TYPES_KEY), cached.getTimeGenerated())) {
+                logger.log(TreeLogger.Type.INFO, "Player providers & mime types unchanged, using cached PlayerManager");
+                return new RebindResult(RebindMode.USE_ALL_CACHED, packageName + "." + className);
+            }
 
-            // Generate class source code
-            generateClass(logger, context);
+            // collate generator input & generate class source code
+            boolean generated;
+            if (widgetFactory) {
+                collatePlayers(typeOracle, context.getPropertyOracle());
+                generated = generateWidgetFactory(logger, context, classType);
+            } else {
+                collateInput(context);
+                generated = generateClass(logger, context);
+            }
+            RebindResult result = new RebindResult(generated ? RebindMode.USE_ALL_NEW
+                    : RebindMode.USE_EXISTING, packageName + "." + className);
+            result.putClientData(INPUT_KEY, inputs);
+            result.putClientData(TYPES_KEY, join(inputTypes));
+            return result;
+        } catch (UnableToCompleteException e) {
+            throw e;
         } catch (Exception e) {
             logger.log(TreeLogger.ERROR, "Unable to build Player Widgets!", e);
+            throw new UnableToCompleteException();
         }
-
-        // return the fully qualifed name of the class generated
-        return packageName + "." + className;
     }
 
     /**
-     * @param logger Logger object
+     * Reads the mime types file, player providers & widgets and configuration properties
+     * the generated class depends on
+     *
      * @param context Generator context
      */
-    private void generateClass(TreeLogger logger, GeneratorContext context) throws
-            NotFoundException, BadPropertyValueException, UnableToCompleteException, IOException {
-        // get print writer that receives the source code
-        PrintWriter printWriter = context.tryCreate(logger, packageName, className);
-
-        // print writer if null, source code has ALREADY been generated,  return
-        if (printWriter == null) {
-            return;
-        }
-
+    private void collateInput(GeneratorContext context) throws BadPropertyValueException, IOException {
         // build plugin mime types ...
         ConfigurationProperty mimeFile =
                 context.getPropertyOracle().getConfigurationProperty("bstplayer.media.mimeTypes");
@@ -96,154 +132,219 @@ public class PlayerManagerGenerator extends Generator {
             parseMimeFile(val);
         }
 
-        collatePlayers(context.getTypeOracle());
+        collatePlayers(context.getTypeOracle(), context.getPropertyOracle());
+        priority.addAll(getConfiguredNames(context.getPropertyOracle(), "bstplayer.media.playerPriority"));
+    }
+
+    /**
+     * Returns a string that changes whenever the configuration properties, the mime types file,
+     * the set of player registries or the set of provider & player types change.  The files are
+     * not read.
+     *
+     * <p>Without the registries, the sorted names of the {@code @PlayerProvider} and {@code @Player}
+     * annotated types are included, while changes to the annotation values are found by
+     * {@link #isUnchangedSince(TypeOracle, String, long)}
+     */
+    private String getInputStamp(GeneratorContext context) throws BadPropertyValueException, IOException {
+        PropertyOracle po = context.getPropertyOracle();
+        StringBuilder sb = new StringBuilder();
+        for (String prop : new String[]{"bstplayer.media.mimeTypes", "bstplayer.media.playerPriority",
+                    "bstplayer.providers", "bstplayer.players", "bstplayer.useProviderIndex"}) {
+            sb.append(prop).append('=').append(po.getConfigurationProperty(prop).getValues()).append(';');
+        }
+
+        String mimeFile = po.getConfigurationProperty("bstplayer.media.mimeTypes").getValues().get(0);
+        sb.append(getStamp(getClass().getResource(mimeFile == null ? DEFAULT_MIME_TYPES_FILE : mimeFile)));
+
+        String useIndex = po.getConfigurationProperty("bstplayer.useProviderIndex").getValues().get(0);
+        Enumeration<URL> regs = Boolean.parseBoolean(useIndex)
+                ? getClass().getClassLoader().getResources(PLAYER_REGISTRY) : null;
+        if (regs != null && regs.hasMoreElements()) {
+            while (regs.hasMoreElements()) {
+                sb.append(getStamp(regs.nextElement()));
+            }
+        } else {
+            TreeSet<String> annotated = new TreeSet<String>();
+            for (JClassType type : context.getTypeOracle().getTypes()) {
+                if (type.isAnnotationPresent(PlayerProvider.class) || type.isAnnotationPresent(Player.class)) {
+                    annotated.add(type.getQualifiedSourceName());
+                }
+            }
+            sb.append(";types=").append(join(annotated));
+        }
+        return sb.toString();
+    }
+
+    private String getStamp(URL url) throws IOException {
+        return url == null ? ";-" : ";" + url + "@" + url.openConnection().getLastModified();
+    }
+
+    /**
+     * Checks that the provider & player types of the last result are still available and
+     * have not been modified since
+     *
+     * @param types comma separated names of the types
+     * @param timeGenerated the time the last result was generated
+     */
+    private boolean isUnchangedSince(TypeOracle typeOracle, String types, long timeGenerated) {
+        if (types == null) {
+            return false;
+        }
+        for (String type : types.split(",")) {
+            if (type.length() == 0) {
+                continue;
+            }
+            JClassType t = typeOracle.findType(type);
+            if (t == null || (t instanceof JRealClassType && ((JRealClassType) t).getLastModifiedTime() > timeGenerated)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String join(Collection<String> values) {
+        StringBuilder sb = new StringBuilder();
+        for (String value : values) {
+            sb.append(sb.length() > 0 ? "," : "").append(value);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @param logger Logger object
+     * @param context Generator context
+     * @return {@code false} if the class has already been generated
+     */
+    private boolean generateClass(TreeLogger logger, GeneratorContext context) throws
+            NotFoundException, BadPropertyValueException, UnableToCompleteException, IOException {
+        // get print writer that receives the source code
+        PrintWriter printWriter = context.tryCreate(logger, packageName, className);
+
+        // print writer if null, source code has ALREADY been generated,  return
+        if (printWriter == null) {
+            return false;
+        }
 
         // init composer, set class properties, create source writer
         ClassSourceFileComposerFactory composer = new ClassSourceFileComposerFactory(packageName, className);
         composer.setSuperclass("PlayerManager");
         composer.addImport("com.google.gwt.core.client.GWT");
+        composer.addImport("com.google.gwt.core.client.JavaScriptObject");
         composer.addImport("com.bramosystems.oss.player.core.client.spi.PlayerProviderFactory");
-        composer.addImport("com.bramosystems.oss.player.core.client.impl.CallbackUtility");
-        composer.addImport("com.bramosystems.oss.player.core.client.spi.ConfigurationContext");
         composer.addImport("com.bramosystems.oss.player.core.client.*");
-        composer.addImport("java.util.*");
 
         SourceWriter sourceWriter = composer.createSourceWriter(context, printWriter);
 
-        sourceWriter.println("private HashMap<String, HashMap<String, PlayerInfo>> pInfos = new HashMap<String, HashMap<String, PlayerInfo>>();");
-
-        // collate widget factories & create static holders ...
-        Iterator<String> fact = pMap.keySet().iterator();
-        while (fact.hasNext()) {
-            String provClass = fact.next();
-            sourceWriter.println("private static PlayerProviderFactory pwf_" + escapeProviderName(pMap.get(provClass).name)
-                    + " = GWT.create(" + provClass + ".class);");
+        // sort providers & players by name, the generated tables follow that order ...
+        TreeMap<String, String> provClasses = new TreeMap<String, String>();
+        for (String provClass : pMap.keySet()) {
+            provClasses.put(pMap.get(provClass).name, provClass);
         }
-        sourceWriter.println();
 
+        // emit names & player infos as constant tables, indexed by provider & player in name order ...
         Pattern ptrn = Pattern.compile("(\\d+)\\.(\\d+)\\.(\\d+)");
+        StringBuilder nameRows = new StringBuilder(), infoRows = new StringBuilder();
+        for (String provName : provClasses.keySet()) {
+            TreeMap<String, _player> players = new TreeMap<String, _player>();
+            for (_player ply : pMap.get(provClasses.get(provName)).players) {
+                players.put(ply.name, ply);
+            }
 
-        // generate constructor source code
-        sourceWriter.println("public " + className + "() { ");
-        sourceWriter.indent();
-
-        // init widget factories ...
-        fact = pMap.keySet().iterator();
-        while (fact.hasNext()) {
-            String provClass = fact.next();
-            String provName = escapeProviderName(pMap.get(provClass).name);
-            sourceWriter.println("pwf_" + provName + ".init(new ConfigurationContext(CallbackUtility.initCallbackHandlers(\""
-                    + provName + "\"), \"bstplayer.handlers." + provName + "\"));");
-        }
-
-        sourceWriter.println();
-
-        // init providers ...
-        fact = pMap.keySet().iterator();
-        while (fact.hasNext()) {
-            _provider pvd = pMap.get(fact.next());
-            sourceWriter.println("pInfos.put(\"" + pvd.name + "\", new HashMap<String, PlayerInfo>());");
-
-            Iterator<_player> pns = pvd.players.iterator();
-            while (pns.hasNext()) {
-                _player ply = pns.next();
-                boolean ps = false, ms = false;
-
-                JClassType ints[] = ply.interfaces;
-                for (int j = 0; j < ints.length; j++) {
-                    if (ints[j].getQualifiedSourceName().equals(MatrixSupport.class.getName())) {
-                        ms = true;
-                    } else if (ints[j].getQualifiedSourceName().equals(PlaylistSupport.class.getName())) {
-                        ps = true;
-                    }
-                }
+            ArrayList<String> names = new ArrayList<String>();
+            StringBuilder infos = new StringBuilder();
+            for (_player ply : players.values()) {
+                boolean ps = ply.hasPlaylistSupport, ms = ply.hasMatrixSupport;
                 Matcher m = ptrn.matcher(ply.minPluginVer);
                 if (m.matches()) {
-                    sourceWriter.println("pInfos.get(\"" + pvd.name + "\").put(\"" + ply.name
-                            + "\", new PlayerInfo(\"" + pvd.name + "\",\"" + ply.name + "\"," + "PluginVersion.get("
-                            + Integer.parseInt(m.group(1)) + "," + Integer.parseInt(m.group(2)) + "," + Integer.parseInt(m.group(3)) + "),"
-                            + ps + "," + ms + "));");
+                    names.add(ply.name);
+                    infos.append(infos.length() > 0 ? ", " : "").append("new PlayerInfo(\"").append(provName).append("\",\"")
+                            .append(ply.name).append("\",PluginVersion.get(").append(Integer.parseInt(m.group(1))).append(",")
+                            .append(Integer.parseInt(m.group(2))).append(",").append(Integer.parseInt(m.group(3))).append("),")
+                            .append(ps).append(",").append(ms).append(")");
                 } else {
-                    logger.log(TreeLogger.Type.WARN, "Min");
+                    logger.log(TreeLogger.Type.WARN, "Invalid minPluginVersion '" + ply.minPluginVer + "' for player '"
+                            + ply.implClass + "', player ignored");
                 }
             }
+            nameRows.append(nameRows.length() > 0 ? ", " : "").append("{").append(toLiterals(names)).append("}");
+            infoRows.append(infoRows.length() > 0 ? ", " : "").append("{").append(infos).append("}");
         }
-        sourceWriter.outdent();
-        sourceWriter.println("}");   // end constructor source generation
-
+        sourceWriter.println("private static final String[] PROVIDERS = {" + toLiterals(provClasses.keySet()) + "};");
+        sourceWriter.println("private static final String[][] PLAYERS = {" + nameRows + "};");
+        sourceWriter.println("private final PlayerInfo[][] infos = {" + infoRows + "};");
         sourceWriter.println();
 
-        // implement get provider names ...
+        // implement the table accessors ...
         sourceWriter.println("@Override");
-        sourceWriter.println("public Set<String> getProviders(){");
+        sourceWriter.println("protected String[] getProviderTable() {");
         sourceWriter.indent();
-        sourceWriter.println("return new TreeSet<String>(pInfos.keySet());");
+        sourceWriter.println("return PROVIDERS;");
         sourceWriter.outdent();
         sourceWriter.println("}");
         sourceWriter.println();
 
-        // implement get player names by provider ...
         sourceWriter.println("@Override");
-        sourceWriter.println("public Set<String> getPlayerNames(String providerName) {");
+        sourceWriter.println("protected String[] getPlayerTable(int provider) {");
         sourceWriter.indent();
-        sourceWriter.println("if(!pInfos.containsKey(providerName))");
-        sourceWriter.println("throw new IllegalArgumentException(\"Unknown player provider - \" + providerName);");
-        sourceWriter.println("return new TreeSet<String>(pInfos.get(providerName).keySet());");
+        sourceWriter.println("return PLAYERS[provider];");
         sourceWriter.outdent();
         sourceWriter.println("}");
         sourceWriter.println();
 
-        // implement get player infos ...
         sourceWriter.println("@Override");
-        sourceWriter.println("public PlayerInfo getPlayerInfo(String providerName, String playerName) {");
+        sourceWriter.println("protected PlayerInfo[] getPlayerInfoTable(int provider) {");
         sourceWriter.indent();
-        sourceWriter.println("if(!pInfos.containsKey(providerName)) {");
-        sourceWriter.println("throw new IllegalArgumentException(\"Unknown player provider - \" + providerName);}");
-        sourceWriter.println("if(providerName.equals(\"api\")){");
-        sourceWriter.println("return getApiPlayerInfoForPlugin(playerName);}");
-        sourceWriter.println("else if(!pInfos.get(providerName).containsKey(playerName)){");
-        sourceWriter.println("throw new IllegalArgumentException(\"Unknown player name - \" + playerName);}");
-        sourceWriter.println("return pInfos.get(providerName).get(playerName);");
+        sourceWriter.println("return infos[provider];");
         sourceWriter.outdent();
         sourceWriter.println("}");
         sourceWriter.println();
 
-        // implement get widget factory with defered binding on demand ....
+        // implement create widget factory with defered binding, dispatched by provider index ....
         sourceWriter.println("@Override");
-        sourceWriter.println("public PlayerProviderFactory getProviderFactory(String provider) {");
+        sourceWriter.println("protected PlayerProviderFactory newProviderFactory(int provider) {");
         sourceWriter.indent();
-        sourceWriter.println("PlayerProviderFactory wf = null;");
-
-        boolean firstRun = true;
-        Iterator<_provider> provs = pMap.values().iterator();
-        while (provs.hasNext()) {
-            _provider prov = provs.next();
-            if (firstRun) {
-                sourceWriter.println("if(\"" + prov.name + "\".equals(provider)) {");
-            } else {
-                sourceWriter.println("else if(\"" + prov.name + "\".equals(provider)) {");
-            }
-            sourceWriter.indent();
-            sourceWriter.println("wf = pwf_" + escapeProviderName(prov.name) + ";");
-            sourceWriter.outdent();
-            sourceWriter.println("}");
-            firstRun = false;
+        sourceWriter.println("switch(provider) {");
+        int index = 0;
+        for (String provName : provClasses.keySet()) {
+            sourceWriter.println("case " + index++ + ":");
+            sourceWriter.indentln("return GWT.create(" + provClasses.get(provName) + ".class);");
         }
-        sourceWriter.println("return wf;");
+        sourceWriter.println("default:");
+        sourceWriter.indentln("return null;");
+        sourceWriter.println("}");
         sourceWriter.outdent();
         sourceWriter.println("}");
         sourceWriter.println();
 
-       // implement mimeTypes ....
+        // implement mime type table, extensions are split at compile time ....
         sourceWriter.println("@Override");
-        sourceWriter.println("protected void initMimeTypes(HashMap<String, String> mimeTypes) {");
+        sourceWriter.println("protected native JavaScriptObject initMimeTable() /*-{");
+        sourceWriter.indent();
+        sourceWriter.println("return {");
         sourceWriter.indent();
-        Iterator<String> mimeKeys = mimeMap.keySet().iterator();
+        Iterator<String> mimeKeys = new TreeSet<String>(mimeMap.keySet()).iterator();
         while (mimeKeys.hasNext()) {
             String mime = mimeKeys.next();
-            sourceWriter.println("mimeTypes.put(\"" + mime + "\",\"" + mimeMap.get(mime) + "\");");
+            ArrayList<String> exts = new ArrayList<String>();
+            for (String ext : mimeMap.get(mime).split(",")) {
+                if (ext.trim().length() > 0) {
+                    exts.add(ext.trim());
+                }
+            }
+            sourceWriter.println("\"" + mime + "\":[" + toLiterals(exts) + "]" + (mimeKeys.hasNext() ? "," : ""));
         }
         sourceWriter.outdent();
+        sourceWriter.println("};");
+        sourceWriter.outdent();
+        sourceWriter.println("}-*/;");
+        sourceWriter.println();
+
+        // implement player priority ....
+        sourceWriter.println("@Override");
+        sourceWriter.println("protected String[] getPlayerPriority() {");
+        sourceWriter.indent();
+        sourceWriter.println("return new String[]{" + toLiterals(priority) + "};");
+        sourceWriter.outdent();
         sourceWriter.println("}");
         sourceWriter.println();
 
@@ -253,36 +354,216 @@ public class PlayerManagerGenerator extends Generator {
 
         // commit generated class
         context.commit(logger, printWriter);
+        return true;
     }
 
-    private void collatePlayers(TypeOracle typeOracle) {
+    /**
+     * Generates the implementation of a {@link PlayerWidgetFactory} nested in a player provider.
+     * Only the players of the provider that are compiled in are referenced.
+     *
+     * @return {@code false} if the class has already been generated
+     */
+    private boolean generateWidgetFactory(TreeLogger logger, GeneratorContext context, JClassType classType)
+            throws UnableToCompleteException {
+        JClassType provider = classType.getEnclosingType();
+        if (provider == null || !provider.isAnnotationPresent(PlayerProvider.class)) {
+            logger.log(TreeLogger.Type.ERROR, "PlayerWidgetFactory '" + classType.getQualifiedSourceName()
+                    + "' should be nested in a class annotated with @PlayerProvider");
+            throw new UnableToCompleteException();
+        }
+
+        PrintWriter printWriter = context.tryCreate(logger, packageName, className);
+        if (printWriter == null) {
+            return false;
+        }
+
+        ClassSourceFileComposerFactory composer = new ClassSourceFileComposerFactory(packageName, className);
+        composer.addImplementedInterface(classType.getQualifiedSourceName());
+        composer.addImport("com.bramosystems.oss.player.core.client.*");
+        composer.addImport("java.util.Arrays");
+        SourceWriter sourceWriter = composer.createSourceWriter(context, printWriter);
+
+        // players compiled in, sorted by name ...
+        TreeMap<String, String> players = new TreeMap<String, String>();
+        _provider pvd = pMap.get(provider.getQualifiedSourceName());
+        if (pvd != null) {
+            TypeOracle typeOracle = context.getTypeOracle();
+            JType string = typeOracle.findType(String.class.getName());
+            for (_player ply : pvd.players) {
+                JClassType impl = typeOracle.findType(ply.implClass);
+                if (impl.findConstructor(new JType[]{string, JPrimitiveType.BOOLEAN, string, string}) == null
+                        || impl.findConstructor(new JType[]{string, JPrimitiveType.BOOLEAN}) == null) {
+                    logger.log(TreeLogger.Type.ERROR, "Player widget '" + ply.implClass
+                            + "' should have (String, boolean, String, String) and (String, boolean) constructors");
+                    throw new UnableToCompleteException();
+                }
+                players.put(ply.name, ply.implClass);
+            }
+        }
+        sourceWriter.println("private static final String[] PLAYERS = {" + toLiterals(players.keySet()) + "};");
+        sourceWriter.println();
+
+        String[] params = {"String playerName, String mediaURL, boolean autoplay, String height, String width",
+            "String playerName, String mediaURL, boolean autoplay"};
+        String[] args = {"mediaURL, autoplay, height, width", "mediaURL, autoplay"};
+        for (int i = 0; i < params.length; i++) {
+            sourceWriter.println("@Override");
+            sourceWriter.println("public AbstractMediaPlayer getPlayer(" + params[i] + ")");
+            sourceWriter.indentln("throws PluginNotFoundException, PluginVersionException {");
+            sourceWriter.indent();
+            sourceWriter.println("switch(Arrays.binarySearch(PLAYERS, playerName)) {");
+            int index = 0;
+            for (String implClass : players.values()) {
+                sourceWriter.println("case " + index++ + ":");
+                sourceWriter.indentln("return new " + implClass + "(" + args[i] + ");");
+            }
+            sourceWriter.println("default:");
+            sourceWriter.indentln("throw new IllegalArgumentException(\"Unknown player - '\" + playerName + \"'\");");
+            sourceWriter.println("}");
+            sourceWriter.outdent();
+            sourceWriter.println("}");
+            sourceWriter.println();
+        }
+
+        sourceWriter.outdent();
+        sourceWriter.println("}");
+        context.commit(logger, printWriter);
+        return true;
+    }
+
+    private void collatePlayers(TypeOracle typeOracle, PropertyOracle propertyOracle)
+            throws BadPropertyValueException, IOException {
+        Set<String> providers = getConfiguredNames(propertyOracle, "bstplayer.providers");
+        Set<String> players = getConfiguredNames(propertyOracle, "bstplayer.players");
+        HashSet<String> excludedProviders = new HashSet<String>();
+        TreeLogger excludes = null;
+
+        // provider class -> name & player widgets, from the registry or the type oracle ...
+        LinkedHashMap<String, String> provs = new LinkedHashMap<String, String>();
+        ArrayList<_player> widgets = new ArrayList<_player>();
+        String useIndex = propertyOracle.getConfigurationProperty("bstplayer.useProviderIndex").getValues().get(0);
+        if (!(Boolean.parseBoolean(useIndex) && readRegistry(typeOracle, provs, widgets))) {
+            scanTypes(typeOracle, provs, widgets);
+        }
+        inputTypes.addAll(provs.keySet());
+        for (_player ply : widgets) {
+            inputTypes.add(ply.implClass);
+        }
+
         TreeLogger tl = logger.branch(TreeLogger.Type.INFO, "Searching for Player Providers");
-        JClassType a[] = typeOracle.getTypes();
-        for (int i = 0; i < a.length; i++) {
-            if (a[i].isAnnotationPresent(PlayerProvider.class)) {
-                String pName = a[i].getAnnotation(PlayerProvider.class).value();
+        for (String provClass : provs.keySet()) {
+            String pName = provs.get(provClass);
+            // the api provider backs Plugin based player lookups, always keep it ...
+            if (providers.isEmpty() || providers.contains(pName) || pName.equals("api")) {
                 tl.log(TreeLogger.Type.INFO, "Processing Player Provider : " + pName);
-                pMap.put(a[i].getQualifiedSourceName(), new _provider(pName));
+                pMap.put(provClass, new _provider(pName));
+            } else {
+                excludedProviders.add(provClass);
+                excludes = logExclusion(excludes, "Player Provider : " + pName + " (" + provClass + ")");
             }
         }
 
         tl = logger.branch(TreeLogger.Type.INFO, "Searching for Player widgets");
-        for (int i = 0; i < a.length; i++) {
-            if (a[i].isAnnotationPresent(Player.class)) {
-                Player p = a[i].getAnnotation(Player.class);
-                String pName = p.providerFactory().getName();
-                if (pMap.containsKey(pName)) {
-                    tl.log(TreeLogger.Type.INFO, "Processing Player widget : " + a[i].getQualifiedSourceName());
-                    _player _py = new _player(p.name(), p.minPluginVersion(), a[i].getQualifiedSourceName());
-                    _py.interfaces = a[i].getImplementedInterfaces();
-                    pMap.get(pName).players.add(_py);
+        for (_player ply : widgets) {
+            String pName = ply.providerClass;
+            if (pMap.containsKey(pName)) {
+                String id = pMap.get(pName).name + ":" + ply.name;
+                if (players.isEmpty() || players.contains(id) || pMap.get(pName).name.equals("api")) {
+                    tl.log(TreeLogger.Type.INFO, "Processing Player widget : " + ply.implClass);
+                    pMap.get(pName).players.add(ply);
                 } else {
-                    logger.log(TreeLogger.Type.ERROR, "WidgetFactory '" + pName + "' should be annotated with @PlayerProvider");
+                    excludes = logExclusion(excludes, "Player widget : " + id + " (" + ply.implClass + ")");
                 }
+            } else if (excludedProviders.contains(pName)) {
+                excludes = logExclusion(excludes, "Player widget : " + ply.name + " (" + ply.implClass + ")");
+            } else {
+                logger.log(TreeLogger.Type.ERROR, "WidgetFactory '" + pName + "' should be annotated with @PlayerProvider");
             }
         }
     }
 
+    private void scanTypes(TypeOracle typeOracle, Map<String, String> provs, List<_player> widgets) {
+        JClassType types[] = typeOracle.getTypes();
+        for (int i = 0; i < types.length; i++) {
+            if (types[i].isAnnotationPresent(PlayerProvider.class)) {
+                provs.put(types[i].getQualifiedSourceName(), types[i].getAnnotation(PlayerProvider.class).value());
+            }
+            if (types[i].isAnnotationPresent(Player.class)) {
+                Player p = types[i].getAnnotation(Player.class);
+                _player _py = new _player(p.name(), p.minPluginVersion(), types[i].getQualifiedSourceName());
+                _py.providerClass = p.providerFactory().getName();
+                JClassType ints[] = types[i].getImplementedInterfaces();
+                for (int j = 0; j < ints.length; j++) {
+                    if (ints[j].getQualifiedSourceName().equals(MatrixSupport.class.getName())) {
+                        _py.hasMatrixSupport = true;
+                    } else if (ints[j].getQualifiedSourceName().equals(PlaylistSupport.class.getName())) {
+                        _py.hasPlaylistSupport = true;
+                    }
+                }
+                widgets.add(_py);
+            }
+        }
+    }
+
+    /**
+     * Reads the player registries built by the bst-player-apt annotation processor.
+     *
+     * @return {@code false} if no registry is found on the classpath
+     */
+    private boolean readRegistry(TypeOracle typeOracle, Map<String, String> provs, List<_player> widgets) throws IOException {
+        Enumeration<URL> regs = getClass().getClassLoader().getResources(PLAYER_REGISTRY);
+        if (!regs.hasMoreElements()) {
+            logger.log(TreeLogger.Type.WARN, "No player registry found! Searching all types for Player Providers");
+            return false;
+        }
+
+        while (regs.hasMoreElements()) {
+            URL reg = regs.nextElement();
+            BufferedReader in = new BufferedReader(new InputStreamReader(reg.openStream(), "UTF-8"));
+            try {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String[] f = line.split("\\|");
+                    // skip types not on the GWT source path, or no longer annotated since the registry was built ...
+                    JClassType type = typeOracle.findType(f.length > 1 ? f[1] : "");
+                    if (type == null) {
+                        continue;
+                    }
+                    if (f[0].equals("provider") && f.length == 3 && type.isAnnotationPresent(PlayerProvider.class)) {
+                        provs.put(f[1], f[2]);
+                    } else if (f[0].equals("player") && f.length == 7 && type.isAnnotationPresent(Player.class)) {
+                        _player _py = new _player(f[2], f[4], f[1]);
+                        _py.providerClass = f[3];
+                        _py.hasPlaylistSupport = Boolean.parseBoolean(f[5]);
+                        _py.hasMatrixSupport = Boolean.parseBoolean(f[6]);
+                        widgets.add(_py);
+                    }
+                }
+            } finally {
+                in.close();
+            }
+        }
+        return true;
+    }
+
+    private TreeLogger logExclusion(TreeLogger excludes, String message) {
+        if (excludes == null) {
+            excludes = logger.branch(TreeLogger.Type.INFO, "Excluded by the bstplayer.providers/bstplayer.players properties");
+        }
+        excludes.log(TreeLogger.Type.INFO, message);
+        return excludes;
+    }
+
+    private Set<String> getConfiguredNames(PropertyOracle propertyOracle, String property) throws BadPropertyValueException {
+        LinkedHashSet<String> names = new LinkedHashSet<String>();   // keep the configured order ...
+        for (String val : propertyOracle.getConfigurationProperty(property).getValues()) {
+            if (val != null && val.trim().length() > 0) {
+                names.add(val.trim());
+            }
+        }
+        return names;
+    }
+
     private void parseMimeFile(String mimePropertyFile) throws IOException {
         // build props ...            
         Properties p = new Properties();
@@ -297,9 +578,13 @@ public class PlayerManagerGenerator extends Generator {
         }
     }
 
-    // replace chars [.] with escaped strings ...
-    private String escapeProviderName(String provName) {
-        return provName.replace(".", "$");
+    // comma separated java/javascript string literals ...
+    private String toLiterals(Collection<String> values) {
+        StringBuilder sb = new StringBuilder();
+        for (String value : values) {
+            sb.append(sb.length() > 0 ? ", " : "").append('"').append(value).append('"');
+        }
+        return sb.toString();
     }
 
     private class _provider {
@@ -317,7 +602,8 @@ public class PlayerManagerGenerator extends Generator {
         String name;
         String minPluginVer;
         String implClass;
-        JClassType[] interfaces;
+        String providerClass;
+        boolean hasPlaylistSupport, hasMatrixSupport;
 
         public _player(String name, String minPluginVer, String implClass) {
             this.name = name;
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2011 Sikirulai Braheem <sbraheem at bramosystems.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bramosystems.oss.player.playlist.client;
+
+/**
+ * Callback interface for playlists parsed asynchronously by the {@link PlaylistFactory}
+ *
+ * <p>Large playlists are parsed in time slices so that the browser remains responsive.
+ * The playlist object passed to {@link #onProgress(java.lang.Object)} is the same object
+ * that is eventually passed to {@link #onSuccess(java.lang.Object)}, it holds the entries
+ * parsed so far.
+ *
+ * @param <T> the type of the parsed playlist
+ * @author Sikirulai Braheem <sbraheem at bramosystems.com>
+ * @since 2.0.4
+ */
+public interface ParseCallback<T> {
+
+    /**
+     * Called after each parse time slice with the partially parsed playlist
+     *
+     * @param playlist the playlist parsed so far
+     */
+    public void onProgress(T playlist);
+
+    /**
+     * Called when the playlist has been completely parsed
+     *
+     * @param playlist the parsed playlist
+     */
+    public void onSuccess(T playlist);
+
+    /**
+     * Called if an error occurs during parsing.  No further callback method is called
+     *
+     * @param exception the parse error
+     */
+    public void onFailure(ParseException exception);
+}
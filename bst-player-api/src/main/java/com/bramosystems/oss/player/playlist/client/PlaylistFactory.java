@@ -19,11 +19,16 @@ import com.bramosystems.oss.player.playlist.client.impl.ASXHandler;
 import com.bramosystems.oss.player.playlist.client.impl.XSPFHandler;
 import com.bramosystems.oss.player.playlist.client.asx.ASXPlaylist;
 import com.bramosystems.oss.player.playlist.client.impl.JSPFPlaylist;
+import com.bramosystems.oss.player.playlist.client.impl.PlaylistCache;
 import com.bramosystems.oss.player.playlist.client.spf.SPFPlaylist;
 import com.google.gwt.core.client.JsonUtils;
 
 /**
- * Factory class handles parsing of various playlist formats
+ * Factory class handles parsing of various playlist formats.
+ * 
+ * <p>Parsed XSPF playlists are cached by the hash of their data, and kept in the browsers'
+ * local storage (if supported) such that they are rebuilt without parsing in subsequent
+ * sessions.  Every call returns a new playlist object.
  * 
  * @since 1.3
  * @author Sikirulai Braheem <sbraheem at bramosystems.com>
@@ -54,7 +59,50 @@ public class PlaylistFactory {
      * @throws ParseException if a error occurs during parsing
      */
     public static SPFPlaylist parseXspfPlaylist(String xspf) throws ParseException {
-        return new XSPFHandler().getPlaylist(xspf);
+        String key = PlaylistCache.getKey("x", xspf);
+        SPFPlaylist p = PlaylistCache.get().getSPFPlaylist(key);
+        if (p == null) {
+            p = new XSPFHandler().getPlaylist(xspf);
+            PlaylistCache.get().putSPFPlaylist(key, p);
+        }
+        return p;
+    }
+
+    /**
+     * Parses XML playlist in XSPF format to SPFPlaylist object asynchronously.
+     * 
+     * <p>The playlist data is parsed in time slices without building an XML document 
+     * first, the browser remains responsive while large playlists are parsed.
+     * 
+     * @param xspf playlist data in XSPF format
+     * @param callback receives the partially and completely parsed playlist
+     * @since 2.0.4
+     */
+    public static void parseXspfPlaylist(String xspf, final ParseCallback<SPFPlaylist> callback) {
+        final String key = PlaylistCache.getKey("x", xspf);
+        SPFPlaylist p = PlaylistCache.get().getSPFPlaylist(key);
+        if (p != null) {
+            callback.onSuccess(p);
+            return;
+        }
+        new XSPFHandler().getPlaylist(xspf, new ParseCallback<SPFPlaylist>() {
+
+            @Override
+            public void onProgress(SPFPlaylist playlist) {
+                callback.onProgress(playlist);
+            }
+
+            @Override
+            public void onSuccess(SPFPlaylist playlist) {
+                PlaylistCache.get().putSPFPlaylist(key, playlist);
+                callback.onSuccess(playlist);
+            }
+
+            @Override
+            public void onFailure(ParseException exception) {
+                callback.onFailure(exception);
+            }
+        });
     }
 
     /**
@@ -68,4 +116,39 @@ public class PlaylistFactory {
     public static ASXPlaylist parseAsxPlaylist(String asx) throws ParseException {
         return new ASXHandler().getPlaylist(asx);
     }
+
+    /**
+     * Parses XML playlist in ASX format to ASXPlaylist object asynchronously.
+     * 
+     * <p>The playlist data is parsed in time slices without building an XML document 
+     * first, the browser remains responsive while large playlists are parsed.
+     * 
+     * @param asx playlist data in ASX format
+     * @param callback receives the partially and completely parsed playlist
+     * @since 2.0.4
+     */
+    public static void parseAsxPlaylist(String asx, ParseCallback<ASXPlaylist> callback) {
+        new ASXHandler().getPlaylist(asx, callback);
+    }
+
+    /**
+     * Sets the size budget of the parsed playlist cache.  Least recently used playlists
+     * are evicted when the cached playlists exceed the budget.
+     * 
+     * @param size the budget in characters, {@code 0} disables the cache
+     * @since 2.0.4
+     */
+    public static void setCacheSize(int size) {
+        PlaylistCache.get().setBudget(size);
+    }
+
+    /**
+     * Removes all parsed playlists from the cache, including those kept in the
+     * browsers' local storage
+     * 
+     * @since 2.0.4
+     */
+    public static void clearCache() {
+        PlaylistCache.get().clear();
+    }
 }
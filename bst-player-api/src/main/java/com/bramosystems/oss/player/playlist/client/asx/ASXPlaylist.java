@@ -16,6 +16,7 @@
 package com.bramosystems.oss.player.playlist.client.asx;
 
 import com.bramosystems.oss.player.core.client.PlaylistSupport;
+import com.bramosystems.oss.player.core.client.playlist.LazyPlaylist;
 import com.bramosystems.oss.player.core.client.playlist.MRL;
 import com.bramosystems.oss.player.core.client.playlist.Playlist;
 import java.util.ArrayList;
@@ -288,26 +289,36 @@ public final class ASXPlaylist  {
     
     /**
      * Returns this playlist as a Playlist object that can be used with player widgets 
-     * with {@link PlaylistSupport}
+     * with {@link PlaylistSupport}.
+     * 
+     * <p>The returned playlist is backed by the entries of this playlist.  The MRL of 
+     * an entry is created when the entry is first accessed.
      * 
      * @return Playlist object
      */
     public Playlist toPlaylist() {
-        Playlist p = new Playlist();
+        final List<ASXEntry> es = entries;
+        Playlist p = new LazyPlaylist(new LazyPlaylist.Source() {
+
+            @Override
+            public int getSize() {
+                return es.size();
+            }
+
+            @Override
+            public MRL createMRL(int index) {
+                ASXEntry ae = es.get(index);
+                MRL m = new MRL(ae.getTitle(), ae.getAuthor());
+                Iterator<Ref> refs = ae.getRefs().iterator();
+                while(refs.hasNext()) {
+                    Ref ref = refs.next();
+                    m.addURL(ref.getHref());
+                }
+                return m;
+            }
+        });
         p.setName(title);
         p.setAuthor(author);
-        
-        Iterator<ASXEntry> it = entries.iterator();
-        while(it.hasNext()) {
-            ASXEntry ae = it.next();
-            MRL m = new MRL(ae.getTitle(), ae.getAuthor());
-            Iterator<Ref> refs = ae.getRefs().iterator();
-            while(refs.hasNext()) {
-                Ref ref = refs.next();
-                m.addURL(ref.getHref());
-            }
-            p.add(m);
-        }
         return p;
     }
 }
@@ -16,75 +16,68 @@
 package com.bramosystems.oss.player.playlist.client.impl;
 
 import com.bramosystems.oss.player.core.client.PlayTime;
+import com.bramosystems.oss.player.playlist.client.ParseCallback;
 import com.bramosystems.oss.player.playlist.client.ParseException;
 import com.bramosystems.oss.player.playlist.client.asx.ASXEntry;
 import com.bramosystems.oss.player.playlist.client.asx.ASXPlaylist;
 import com.bramosystems.oss.player.playlist.client.asx.Ref;
 import com.bramosystems.oss.player.playlist.client.asx.Repeat;
-import com.google.gwt.xml.client.XMLParser;
-import java.util.HashMap;
-import java.util.Iterator;
 import java.util.Stack;
 
 /**
  *
  * @author Sikirulai Braheem <sbraheem at bramosystems.com>
  */
-public class ASXHandler implements SAXHandler {
+public class ASXHandler implements SAXAttributesHandler {
+
+    private static final NodeNameIndex<ASXNodeNames> nodeNames =
+            new NodeNameIndex<ASXNodeNames>(ASXNodeNames.values(), ASXNodeNames.UNKNOWN);
 
     private Stack<ASXNodeNames> parentNodes = new Stack<ASXNodeNames>();
     private ASXPlaylist playlist;
     private ASXEntry entry;
     private Ref ref;
     private Repeat repeat;
-    private Iterator<String> it;
 
     private ASXNodeNames getNodeName(String name) {
-        return ASXNodeNames.valueOf("_" + name);
+        return nodeNames.get(name);
     }
 
     @Override
-    public void onNodeStart(String nodeName, HashMap<String, String> attr, String namespaceURI) throws ParseException {
-        String href = null;
+    public void onNodeStart(String nodeName, SAXAttributes attr, String namespaceURI) throws ParseException {
+        String href = null, value = null;
         try {
-            switch (getNodeName(nodeName.toLowerCase())) {
+            switch (getNodeName(nodeName)) {
                 case _asx:
                     parentNodes.push(ASXNodeNames._asx);
-                    it = attr.keySet().iterator();
-                    while (it.hasNext()) {
-                        String ky = it.next();
-                        if (ky.equalsIgnoreCase("version")) {
-                            playlist.setVersion(Double.parseDouble(attr.get(ky)));
-                        } else if (ky.equalsIgnoreCase("previewmode")) {
-                            playlist.setPreviewMode(attr.get(ky).equalsIgnoreCase("yes"));
-//                        } else if (ky.equalsIgnoreCase("bannerbar")) {
-//                            playlist.setBannerBar(attr.get(ky).equalsIgnoreCase("auto")
-//                                    ? ASXPlaylist.BannerBar.Auto : ASXPlaylist.BannerBar.Fixed);
-                        }
+                    value = attr.getValue("version");
+                    if (value != null) {
+                        playlist.setVersion(Double.parseDouble(value));
+                    }
+                    value = attr.getValue("previewmode");
+                    if (value != null) {
+                        playlist.setPreviewMode(value.equalsIgnoreCase("yes"));
                     }
+//                    value = attr.getValue("bannerbar");
+//                    if (value != null) {
+//                        playlist.setBannerBar(value.equalsIgnoreCase("auto")
+//                                ? ASXPlaylist.BannerBar.Auto : ASXPlaylist.BannerBar.Fixed);
+//                    }
                     break;
                 case _entry:
                     parentNodes.push(ASXNodeNames._entry);
                     entry = new ASXEntry();
-                    it = attr.keySet().iterator();
-                    while (it.hasNext()) {
-                        String ky = it.next();
-                        if (ky.equalsIgnoreCase("clientSkip")) {
-                            entry.setClientSkip(attr.get(ky).equalsIgnoreCase("yes"));
-                        } else if (ky.equalsIgnoreCase("skipIfRef")) {
-                            entry.setClientSkip(attr.get(ky).equalsIgnoreCase("yes"));
-                        }
+                    value = attr.getValue("clientSkip");
+                    if (value != null) {
+                        entry.setClientSkip(value.equalsIgnoreCase("yes"));
+                    }
+                    value = attr.getValue("skipIfRef");
+                    if (value != null) {
+                        entry.setSkipIfRef(value.equalsIgnoreCase("yes"));
                     }
                     break;
                 case _entryref:
-                    it = attr.keySet().iterator();
-                    while (it.hasNext()) {
-                        String ky = it.next();
-                        if (ky.equalsIgnoreCase("href")) {
-                            href = attr.get(ky);
-                            break;
-                        }
-                    }
+                    href = attr.getValue("href");
                     switch (parentNodes.peek()) {
                         case _asx:
                             playlist.getEntryRefs().add(href);
@@ -95,14 +88,7 @@ public class ASXHandler implements SAXHandler {
                     break;
                     /*
                 case _base:
-                    it = attr.keySet().iterator();
-                    while (it.hasNext()) {
-                        String ky = it.next();
-                        if (ky.equalsIgnoreCase("href")) {
-                            href = attr.get(ky);
-                            break;
-                        }
-                    }
+                    href = attr.getValue("href");
                     switch (parentNodes.peek()) {
                         case _asx:
                             if (playlist.getBaseHref() == null) {
@@ -117,35 +103,21 @@ public class ASXHandler implements SAXHandler {
                     break;
                     */
                 case _duration:
-                    it = attr.keySet().iterator();
-                    while (it.hasNext()) {
-                        String ky = it.next();
-                        if (ky.equalsIgnoreCase("value")) {
-                            href = attr.get(ky);
-                            break;
-                        }
-                    }
+                    value = attr.getValue("value");
                     switch (parentNodes.peek()) {
                         case _entry:
                             if (entry.getDuration() == null) {
-                                entry.setDuration(new PlayTime(href));
+                                entry.setDuration(new PlayTime(value));
                             }
                             break;
                         case _ref:
                             if (ref.getDuration() == null) {
-                                ref.setDuration(new PlayTime(href));
+                                ref.setDuration(new PlayTime(value));
                             }
                     }
                     break;
                 case _moreinfo:
-                    it = attr.keySet().iterator();
-                    while (it.hasNext()) {
-                        String ky = it.next();
-                        if (ky.equalsIgnoreCase("href")) {
-                            href = attr.get(ky);
-                            break;
-                        }
-                    }
+                    href = attr.getValue("href");
                     switch (parentNodes.peek()) {
                         case _asx:
                             if (playlist.getMoreInfoHref() == null) {
@@ -159,58 +131,40 @@ public class ASXHandler implements SAXHandler {
                     }
                     break;
                 case _param:
-                    it = attr.keySet().iterator();
-                    while (it.hasNext()) {
-                        String ky = it.next();
+                    for (int i = 0; i < attr.getLength(); i++) {
                         switch (parentNodes.peek()) {
                             case _asx:
-                                playlist.getParams().put(ky, attr.get(ky));
+                                playlist.getParams().put(attr.getName(i), attr.getValue(i));
                                 break;
                             case _entry:
-                                entry.getParams().put(ky, attr.get(ky));
+                                entry.getParams().put(attr.getName(i), attr.getValue(i));
                         }
                     }
                     break;
                 case _ref:
                     parentNodes.push(ASXNodeNames._ref);
                     ref = new Ref();
-                    it = attr.keySet().iterator();
-                    while (it.hasNext()) {
-                        String ky = it.next();
-                        if (ky.equalsIgnoreCase("href")) {
-                            ref.setHref(attr.get(ky));
-                        }
-                    }
+                    ref.setHref(attr.getValue("href"));
                     break;
                 case _repeat:
                     repeat = new Repeat();
-                    it = attr.keySet().iterator();
-                    while (it.hasNext()) {
-                        String ky = it.next();
-                        if (ky.equalsIgnoreCase("count")) {
-                            repeat.setCount(Integer.parseInt(attr.get(ky)));
-                        }
+                    value = attr.getValue("count");
+                    if (value != null) {
+                        repeat.setCount(Integer.parseInt(value));
                     }
                     parentNodes.push(ASXNodeNames._repeat);
                     break;
                 case _starttime:
-                    it = attr.keySet().iterator();
-                    while (it.hasNext()) {
-                        String ky = it.next();
-                        if (ky.equalsIgnoreCase("value")) {
-                            href = attr.get(ky);
-                            break;
-                        }
-                    }
+                    value = attr.getValue("value");
                     switch (parentNodes.peek()) {
                         case _entry:
                             if (entry.getStartTime() == null) {
-                                entry.setStartTime(new PlayTime(href));
+                                entry.setStartTime(new PlayTime(value));
                             }
                             break;
                         case _ref:
                             if (ref.getStartTime() == null) {
-                                ref.setStartTime(new PlayTime(href));
+                                ref.setStartTime(new PlayTime(value));
                             }
                     }
                     break;
@@ -223,7 +177,7 @@ public class ASXHandler implements SAXHandler {
     @Override
     public void setNodeValue(String nodeName, String value) throws ParseException {
         try {
-            switch (getNodeName(nodeName.toLowerCase())) {
+            switch (getNodeName(nodeName)) {
                 case _abstract:
                     switch (parentNodes.peek()) {
                         case _asx:
@@ -285,7 +239,7 @@ public class ASXHandler implements SAXHandler {
     @Override
     public void onNodeEnd(String nodeName) throws ParseException {
         try {
-            switch (getNodeName(nodeName.toLowerCase())) {
+            switch (getNodeName(nodeName)) {
                 case _entry:
                     parentNodes.pop();
                     switch (parentNodes.peek()) {
@@ -315,13 +269,35 @@ public class ASXHandler implements SAXHandler {
     public ASXPlaylist getPlaylist(String asx) throws ParseException {
         playlist = new ASXPlaylist();
         SAXParser sax = new SAXParser(this);
-        sax.parseDocument(XMLParser.parse(asx));
+        sax.parse(asx);
         return playlist;
     }
 
+    public void getPlaylist(String asx, final ParseCallback<ASXPlaylist> callback) {
+        playlist = new ASXPlaylist();
+        SAXParser sax = new SAXParser(this);
+        sax.parseIncremental(asx, new SAXParser.ParserCallback() {
+
+            @Override
+            public void onSliceParsed() {
+                callback.onProgress(playlist);
+            }
+
+            @Override
+            public void onParseComplete() {
+                callback.onSuccess(playlist);
+            }
+
+            @Override
+            public void onParseError(ParseException exception) {
+                callback.onFailure(exception);
+            }
+        });
+    }
+
     private enum ASXNodeNames {
         _abstract, _asx, _author, _base, _copyright, _duration, _endmarker, _entry,
         _entryref, _event, _moreinfo, _param, _ref, _repeat, _startmarker, _starttime,
-        _title
+        _title, UNKNOWN
     }
 }
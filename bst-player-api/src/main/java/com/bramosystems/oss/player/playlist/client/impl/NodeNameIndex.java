@@ -0,0 +1,62 @@
+/*
+ * Copyright 2011 Sikirulai Braheem <sbraheem at bramosystems.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bramosystems.oss.player.playlist.client.impl;
+
+import java.util.HashMap;
+
+/**
+ * Precomputed lookup of XML node names to enum tokens.
+ *
+ * <p>Token names are case-folded once when the index is built, a leading underscore 
+ * in a token name is ignored.  Node names not matching any token resolve to the 
+ * {@code unknown} token instead of raising an exception.  Each node name spelling 
+ * is remembered after the first lookup so that repeated names cost a single map probe.
+ *
+ * @param <E> the token type
+ * @author Sikirulai Braheem <sbraheem at bramosystems.com>
+ */
+class NodeNameIndex<E extends Enum<E>> {
+
+    private static final int MAX_SPELLINGS = 256;
+    private final HashMap<String, E> index = new HashMap<String, E>();
+    private final E unknown;
+    private int spellings;
+
+    NodeNameIndex(E[] tokens, E unknown) {
+        this.unknown = unknown;
+        for (E token : tokens) {
+            if (token != unknown) {
+                String name = token.name();
+                index.put((name.startsWith("_") ? name.substring(1) : name).toLowerCase(), token);
+            }
+        }
+    }
+
+    E get(String nodeName) {
+        E token = index.get(nodeName);
+        if (token == null) {
+            token = index.get(nodeName.toLowerCase());
+            if (token == null) {
+                token = unknown;
+            }
+            if (spellings < MAX_SPELLINGS) {
+                index.put(nodeName, token);
+                spellings++;
+            }
+        }
+        return token;
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2011 Sikirulai Braheem <sbraheem at bramosystems.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bramosystems.oss.player.playlist.client.impl;
+
+import com.bramosystems.oss.player.playlist.client.spf.SPFPlaylist;
+import com.google.gwt.core.client.JsonUtils;
+import com.google.gwt.storage.client.Storage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least-recently-used cache of parsed playlists, keyed by a hash of the playlist data.
+ *
+ * <p>SPF playlists are kept as JSPF snapshots and mirrored in the browsers' local storage
+ * (if supported) so that a later session can rebuild them without parsing the XML.  Every
+ * lookup rebuilds the playlist from its snapshot, such that changes to a returned playlist
+ * do not affect the cache.  The size budget is measured in characters of the snapshots.
+ *
+ * @author Sikirulai Braheem <sbraheem at bramosystems.com>
+ * @since 2.0.4
+ */
+public class PlaylistCache {
+
+    private static final String INDEX_KEY = "bstplayer.playlistCache", ENTRY_KEY = "bstplayer.playlist.";
+    private static PlaylistCache instance;
+    private LinkedHashMap<String, Entry> entries;
+    private Storage store;
+    private int budget, size;
+
+    private PlaylistCache() {
+        entries = new LinkedHashMap<String, Entry>(16, 0.75f, true);
+        budget = 256 * 1024;
+        store = Storage.getLocalStorageIfSupported();
+        restoreIndex();
+    }
+
+    public static PlaylistCache get() {
+        if (instance == null) {
+            instance = new PlaylistCache();
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the cache key of the specified playlist data
+     *
+     * @param format the playlist format
+     * @param data the playlist data
+     * @return the cache key
+     */
+    public static String getKey(String format, String data) {
+        int fnv = 0x811c9dc5;
+        for (int i = 0; i < data.length(); i++) {
+            fnv ^= data.charAt(i);
+            // fnv *= 16777619, in shifts to stay exact in javascript ...
+            fnv += (fnv << 1) + (fnv << 4) + (fnv << 7) + (fnv << 8) + (fnv << 24);
+        }
+        return format + Integer.toHexString(fnv) + Integer.toHexString(data.hashCode())
+                + Integer.toString(data.length(), 36);
+    }
+
+    public void setBudget(int budget) {
+        this.budget = budget;
+        evict();
+        saveIndex();
+    }
+
+    public void clear() {
+        if (store != null) {
+            for (String key : entries.keySet()) {
+                store.removeItem(ENTRY_KEY + key);
+            }
+            store.removeItem(INDEX_KEY);
+        }
+        entries.clear();
+        size = 0;
+    }
+
+    public SPFPlaylist getSPFPlaylist(String key) {
+        Entry e = entries.get(key);
+        if (e == null) {
+            return null;
+        }
+        if (e.snapshot == null && store != null) {  // persisted in an earlier session ...
+            e.snapshot = store.getItem(ENTRY_KEY + key);
+        }
+        try {
+            SPFPlaylist p = restore(e.snapshot);
+            saveIndex();
+            return p;
+        } catch (Exception ex) {   // missing or corrupt snapshot ...
+            remove(key);
+            saveIndex();
+            return null;
+        }
+    }
+
+    public void putSPFPlaylist(String key, SPFPlaylist playlist) {
+        String snapshot;
+        try {
+            snapshot = snapshot(playlist);
+        } catch (Exception ex) {    // no JSON support ...
+            return;
+        }
+        Entry e = new Entry(snapshot.length());
+        e.snapshot = snapshot;
+        if (put(key, e) && store != null) {
+            try {
+                store.setItem(ENTRY_KEY + key, snapshot);
+            } catch (Exception ex) {   // storage quota exceeded, keep in memory only ...
+            }
+            saveIndex();
+        }
+    }
+
+    private boolean put(String key, Entry e) {
+        if (e.size > budget) {
+            return false;
+        }
+        remove(key);
+        entries.put(key, e);
+        size += e.size;
+        evict();
+        return true;
+    }
+
+    private void remove(String key) {
+        Entry e = entries.remove(key);
+        if (e != null) {
+            size -= e.size;
+            if (store != null) {
+                store.removeItem(ENTRY_KEY + key);
+            }
+        }
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (size > budget && it.hasNext()) {
+            Map.Entry<String, Entry> eldest = it.next();
+            it.remove();
+            size -= eldest.getValue().size;
+            if (store != null) {
+                store.removeItem(ENTRY_KEY + eldest.getKey());
+            }
+        }
+    }
+
+    private void restoreIndex() {
+        String index = store == null ? null : store.getItem(INDEX_KEY);
+        if (index == null || index.isEmpty()) {
+            return;
+        }
+        try {
+            for (String item : index.split(",")) {   // key:size, least recently used first ...
+                int i = item.indexOf(':');
+                Entry e = new Entry(Integer.parseInt(item.substring(i + 1)));
+                entries.put(item.substring(0, i), e);
+                size += e.size;
+            }
+        } catch (Exception ex) {   // corrupt index, start afresh ...
+            clear();
+        }
+        evict();
+    }
+
+    private void saveIndex() {
+        if (store != null) {
+            StringBuilder sb = new StringBuilder();
+            for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                if (sb.length() > 0) {
+                    sb.append(',');
+                }
+                sb.append(e.getKey()).append(':').append(e.getValue().size);
+            }
+            try {
+                store.setItem(INDEX_KEY, sb.toString());
+            } catch (Exception ex) {   // storage quota exceeded ...
+            }
+        }
+    }
+
+    private static native String snapshot(SPFPlaylist playlist) /*-{
+        return JSON.stringify({playlist: playlist});
+    }-*/;
+
+    private static SPFPlaylist restore(String snapshot) {
+        SPFPlaylist p = ((JSPFPlaylist) JsonUtils.safeEval(snapshot)).getPlaylist();
+        restoreDate(p);
+        return p;
+    }
+
+    private static native void restoreDate(SPFPlaylist playlist) /*-{
+        if (typeof playlist.date == 'string') {
+            playlist.date = new Date(playlist.date);
+        }
+    }-*/;
+
+    private static class Entry {
+
+        private int size;
+        private String snapshot;
+
+        public Entry(int size) {
+            this.size = size;
+        }
+    }
+}
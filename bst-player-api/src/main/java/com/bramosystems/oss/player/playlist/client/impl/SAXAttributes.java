@@ -0,0 +1,61 @@
+/*
+ * Copyright 2011 Sikirulai Braheem <sbraheem at bramosystems.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bramosystems.oss.player.playlist.client.impl;
+
+/**
+ * Read-only view of the attributes of an XML element.
+ *
+ * <p>The view is reused by the {@link SAXParser} for every element, it is only valid
+ * for the duration of the {@link SAXAttributesHandler#onNodeStart} call.
+ *
+ * @author Sikirulai Braheem <sbraheem at bramosystems.com>
+ */
+public interface SAXAttributes {
+
+    /**
+     * Returns the number of attributes in the view
+     *
+     * @return the number of attributes
+     */
+    public int getLength();
+
+    /**
+     * Returns the qualified name of the attribute at the specified index
+     *
+     * @param index the attribute index
+     * @return the name of the attribute
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public String getName(int index);
+
+    /**
+     * Returns the value of the attribute at the specified index
+     *
+     * @param index the attribute index
+     * @return the value of the attribute
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public String getValue(int index);
+
+    /**
+     * Returns the value of the attribute with the specified name.  The name is
+     * matched case-insensitively
+     *
+     * @param name the name of the attribute
+     * @return the value of the attribute or {@code null} if no such attribute exists
+     */
+    public String getValue(String name);
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2011 Sikirulai Braheem <sbraheem at bramosystems.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bramosystems.oss.player.playlist.client.impl;
+
+import com.bramosystems.oss.player.playlist.client.ParseException;
+import java.util.HashMap;
+
+/**
+ * Adapts a map-based {@link SAXHandler} to the {@link SAXAttributesHandler} interface.
+ * The attributes of each element are copied into a new map.
+ *
+ * @author Sikirulai Braheem <sbraheem at bramosystems.com>
+ */
+public class SAXHandlerAdapter implements SAXAttributesHandler {
+
+    private SAXHandler handler;
+
+    public SAXHandlerAdapter(SAXHandler handler) {
+        this.handler = handler;
+    }
+
+    @Override
+    public void onNodeStart(String nodeName, SAXAttributes attr, String namespaceURI) throws ParseException {
+        HashMap<String, String> map = new HashMap<String, String>();
+        for (int i = 0; i < attr.getLength(); i++) {
+            map.put(attr.getName(i), attr.getValue(i));
+        }
+        handler.onNodeStart(nodeName, map, namespaceURI);
+    }
+
+    @Override
+    public void setNodeValue(String nodeName, String value) throws ParseException {
+        handler.setNodeValue(nodeName, value);
+    }
+
+    @Override
+    public void onNodeEnd(String nodeName) throws ParseException {
+        handler.onNodeEnd(nodeName);
+    }
+}
@@ -16,55 +16,476 @@
 package com.bramosystems.oss.player.playlist.client.impl;
 
 import com.bramosystems.oss.player.playlist.client.ParseException;
-import com.google.gwt.xml.client.Document;
-import com.google.gwt.xml.client.NamedNodeMap;
-import com.google.gwt.xml.client.Node;
-import com.google.gwt.xml.client.NodeList;
-import com.google.gwt.xml.client.XMLParser;
-import java.util.HashMap;
+import com.google.gwt.core.client.Duration;
+import com.google.gwt.core.client.Scheduler;
+import java.util.ArrayList;
 
 /**
+ * Streaming XML parser that sends {@link SAXHandler} events straight from the document
+ * string.  No DOM is built, only the names of the currently open elements are kept.
+ *
+ * <p>Element attributes are delivered through a reusable {@link SAXAttributes} view, 
+ * map-based {@link SAXHandler}s are supported through the {@link SAXHandlerAdapter}.
+ * Whitespace-only text is ignored, CDATA sections are reported as text while comments,
+ * processing instructions and document type declarations are skipped.
  *
  * @author Sikirulai Braheem <sbraheem at bramosystems.com>
  */
 public class SAXParser {
 
-    private SAXHandler handler;
+    /**
+     * The default parse time slice in milliseconds
+     */
+    public static final int DEFAULT_TIME_SLICE = 10;
+    private static final int TOKENS_PER_TIME_CHECK = 32;
+    private SAXAttributesHandler handler;
+    private String xml;
+    private int pos, length;
+    private AttributeView attributes = new AttributeView();
+    private ArrayList<String> openNodes = new ArrayList<String>();
+    private ArrayList<NSDeclaration> nsDecls = new ArrayList<NSDeclaration>();
 
     public SAXParser() {
     }
 
     public SAXParser(SAXHandler handler) {
+        setHandler(handler);
+    }
+
+    public SAXParser(SAXAttributesHandler handler) {
         this.handler = handler;
     }
 
     public void setHandler(SAXHandler handler) {
+        this.handler = new SAXHandlerAdapter(handler);
+    }
+
+    public void setHandler(SAXAttributesHandler handler) {
         this.handler = handler;
     }
 
-    public void parseDocument(Document doc) throws ParseException {
-        XMLParser.removeWhitespace(doc);
-        processNodes(doc.getChildNodes());
+    /**
+     * Parses the XML document in one synchronous pass
+     *
+     * @param xml the XML document
+     * @throws ParseException if the document is not well-formed or the handler fails
+     */
+    public void parse(String xml) throws ParseException {
+        reset(xml);
+        while (parseNext()) {
+        }
     }
 
-    private void processNodes(NodeList node) throws ParseException {
-        for (int i = 0; i < node.getLength(); i++) {
-            Node nd = node.item(i);
-            switch (nd.getNodeType()) {
-                case Node.ELEMENT_NODE:
-                    HashMap<String, String> attr = new HashMap<String, String>();
-                    NamedNodeMap nnm = nd.getAttributes();
-                    for (int j = 0; j < nnm.getLength(); j++) {
-                        Node nm = nnm.item(j);
-                        attr.put(nm.getNodeName(), nm.getNodeValue());
-                    }
-                    handler.onNodeStart(nd.getNodeName(), attr, nd.getNamespaceURI());
-                    processNodes(nd.getChildNodes());
-                    handler.onNodeEnd(nd.getNodeName());
+    /**
+     * Parses the XML document in time slices of {@link #DEFAULT_TIME_SLICE} milliseconds
+     *
+     * @param xml the XML document
+     * @param callback notified as the parsing progresses
+     * @see #parseIncremental(java.lang.String, int, com.bramosystems.oss.player.playlist.client.impl.SAXParser.ParserCallback)
+     */
+    public void parseIncremental(String xml, ParserCallback callback) {
+        parseIncremental(xml, DEFAULT_TIME_SLICE, callback);
+    }
+
+    /**
+     * Parses the XML document in time slices with the scheduler.  Control is returned
+     * to the browser after each slice.
+     *
+     * @param xml the XML document
+     * @param timeSlice the maximum time in milliseconds spent parsing per slice
+     * @param callback notified as the parsing progresses
+     */
+    public void parseIncremental(String xml, final int timeSlice, final ParserCallback callback) {
+        reset(xml);
+        Scheduler.get().scheduleIncremental(new Scheduler.RepeatingCommand() {
+
+            @Override
+            public boolean execute() {
+                Duration d = new Duration();
+                try {
+                    do {
+                        for (int i = 0; i < TOKENS_PER_TIME_CHECK; i++) {
+                            if (!parseNext()) {
+                                callback.onParseComplete();
+                                return false;
+                            }
+                        }
+                    } while (d.elapsedMillis() < timeSlice);
+                } catch (ParseException ex) {
+                    callback.onParseError(ex);
+                    return false;
+                }
+                callback.onSliceParsed();
+                return true;
+            }
+        });
+    }
+
+    private void reset(String xml) {
+        this.xml = xml;
+        pos = 0;
+        length = xml.length();
+        openNodes.clear();
+        nsDecls.clear();
+    }
+
+    /**
+     * Processes the next token in the document
+     *
+     * @return {@code false} if the end of the document has been reached, {@code true} otherwise
+     */
+    private boolean parseNext() throws ParseException {
+        if (pos >= length) {
+            if (!openNodes.isEmpty()) {
+                throw new ParseException("Unexpected end of document, element not closed : " + currentNode());
+            }
+            return false;
+        }
+
+        int lt = xml.indexOf('<', pos);
+        if (lt < 0) {
+            lt = length;
+        }
+        if (lt > pos) {
+            processText(xml.substring(pos, lt), true);
+            pos = lt;
+        } else if (xml.startsWith("<!--", pos)) {
+            pos = indexAfter("-->", pos + 4);
+        } else if (xml.startsWith("<![CDATA[", pos)) {
+            int end = indexOf("]]>", pos + 9);
+            processText(xml.substring(pos + 9, end), false);
+            pos = end + 3;
+        } else if (xml.startsWith("<?", pos)) {
+            pos = indexAfter("?>", pos + 2);
+        } else if (xml.startsWith("<!", pos)) {
+            skipDeclaration();
+        } else if (xml.startsWith("</", pos)) {
+            processEndTag();
+        } else {
+            processStartTag();
+        }
+        return true;
+    }
+
+    private void processText(String text, boolean decode) throws ParseException {
+        if (openNodes.isEmpty() || isWhitespace(text)) {
+            return;
+        }
+        handler.setNodeValue(currentNode(), decode ? decodeEntities(text) : text);
+    }
+
+    private void processStartTag() throws ParseException {
+        int i = pos + 1;
+        while ((i < length) && !isNameEnd(xml.charAt(i))) {
+            i++;
+        }
+        String name = xml.substring(pos + 1, i);
+        if (name.length() == 0) {
+            throw new ParseException("Invalid element name at position " + pos);
+        }
+
+        attributes.clear();
+        boolean empty = false;
+        while (true) {
+            i = skipWhitespace(i);
+            if (i >= length) {
+                throw new ParseException("Unexpected end of document in element : " + name);
+            }
+            char c = xml.charAt(i);
+            if (c == '>') {
+                i++;
+                break;
+            } else if (c == '/') {
+                if ((i + 1 >= length) || (xml.charAt(i + 1) != '>')) {
+                    throw new ParseException("Invalid element end at position " + i);
+                }
+                empty = true;
+                i += 2;
+                break;
+            }
+
+            int ns = i;
+            while ((i < length) && (xml.charAt(i) != '=') && !isWhitespace(xml.charAt(i))) {
+                i++;
+            }
+            int ne = i;
+            i = skipWhitespace(i);
+            if ((i >= length) || (xml.charAt(i) != '=')) {
+                throw new ParseException("Attribute without value at position " + ns);
+            }
+            i = skipWhitespace(i + 1);
+            if ((i >= length) || ((xml.charAt(i) != '"') && (xml.charAt(i) != '\''))) {
+                throw new ParseException("Unquoted attribute value at position " + i);
+            }
+            int vEnd = xml.indexOf(xml.charAt(i), i + 1);
+            if (vEnd < 0) {
+                throw new ParseException("Unterminated attribute value at position " + i);
+            }
+            attributes.add(ns, ne, i + 1, vEnd);
+            if (xml.startsWith("xmlns", ns)) {
+                if (ne - ns == 5) {
+                    nsDecls.add(new NSDeclaration(openNodes.size(), "", attributes.getValue(attributes.count - 1)));
+                } else if (xml.charAt(ns + 5) == ':') {
+                    nsDecls.add(new NSDeclaration(openNodes.size(), xml.substring(ns + 6, ne),
+                            attributes.getValue(attributes.count - 1)));
+                }
+            }
+            i = vEnd + 1;
+        }
+        pos = i;
+
+        openNodes.add(name);
+        handler.onNodeStart(name, attributes, getNamespaceURI(name));
+        if (empty) {
+            closeNode(name);
+        }
+    }
+
+    private void processEndTag() throws ParseException {
+        int gt = indexOf(">", pos + 2);
+        String name = xml.substring(pos + 2, gt).trim();
+        if (openNodes.isEmpty() || !currentNode().equals(name)) {
+            throw new ParseException("Unexpected end tag : " + name);
+        }
+        pos = gt + 1;
+        closeNode(name);
+    }
+
+    private void closeNode(String name) throws ParseException {
+        openNodes.remove(openNodes.size() - 1);
+        int depth = openNodes.size();
+        for (int i = nsDecls.size() - 1; (i >= 0) && (nsDecls.get(i).depth >= depth); i--) {
+            nsDecls.remove(i);
+        }
+        handler.onNodeEnd(name);
+    }
+
+    private void skipDeclaration() throws ParseException {
+        // skip <!DOCTYPE ...> taking care of the internal subset ...
+        int depth = 0;
+        for (int i = pos + 2; i < length; i++) {
+            switch (xml.charAt(i)) {
+                case '[':
+                    depth++;
+                    break;
+                case ']':
+                    depth--;
                     break;
-                case Node.TEXT_NODE:
-                    handler.setNodeValue(nd.getParentNode().getNodeName(), nd.getNodeValue());
+                case '>':
+                    if (depth <= 0) {
+                        pos = i + 1;
+                        return;
+                    }
+            }
+        }
+        throw new ParseException("Unterminated declaration at position " + pos);
+    }
+
+    private String getNamespaceURI(String name) {
+        int colon = name.indexOf(':');
+        String prefix = colon < 0 ? "" : name.substring(0, colon);
+        for (int i = nsDecls.size() - 1; i >= 0; i--) {
+            if (nsDecls.get(i).prefix.equals(prefix)) {
+                return nsDecls.get(i).uri;
+            }
+        }
+        return null;
+    }
+
+    private String currentNode() {
+        return openNodes.get(openNodes.size() - 1);
+    }
+
+    private int indexOf(String token, int from) throws ParseException {
+        int i = xml.indexOf(token, from);
+        if (i < 0) {
+            throw new ParseException("Unexpected end of document, expecting '" + token + "'");
+        }
+        return i;
+    }
+
+    private int indexAfter(String token, int from) throws ParseException {
+        return indexOf(token, from) + token.length();
+    }
+
+    private int skipWhitespace(int i) {
+        while ((i < length) && isWhitespace(xml.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isNameEnd(char c) {
+        return isWhitespace(c) || (c == '>') || (c == '/');
+    }
+
+    private static boolean isWhitespace(char c) {
+        return (c == ' ') || (c == '\n') || (c == '\r') || (c == '\t');
+    }
+
+    private static boolean isWhitespace(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (!isWhitespace(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Replaces the predefined XML entities and character references in the specified text
+     *
+     * @param text the raw text
+     * @return the decoded text
+     */
+    static String decodeEntities(String text) {
+        int amp = text.indexOf('&');
+        if (amp < 0) {
+            return text;
+        }
+
+        StringBuilder sb = new StringBuilder(text.length());
+        int start = 0;
+        while (amp >= 0) {
+            int semi = text.indexOf(';', amp);
+            if (semi < 0) {
+                break;
+            }
+            sb.append(text.substring(start, amp));
+            String ent = text.substring(amp + 1, semi);
+            if (ent.equals("lt")) {
+                sb.append('<');
+            } else if (ent.equals("gt")) {
+                sb.append('>');
+            } else if (ent.equals("amp")) {
+                sb.append('&');
+            } else if (ent.equals("quot")) {
+                sb.append('"');
+            } else if (ent.equals("apos")) {
+                sb.append('\'');
+            } else if (ent.startsWith("#")) {
+                try {
+                    int code = (ent.startsWith("#x") || ent.startsWith("#X"))
+                            ? Integer.parseInt(ent.substring(2), 16) : Integer.parseInt(ent.substring(1));
+                    sb.append(Character.toChars(code));
+                } catch (Exception e) {
+                    sb.append('&').append(ent).append(';');
+                }
+            } else {
+                sb.append('&').append(ent).append(';');
+            }
+            start = semi + 1;
+            amp = text.indexOf('&', start);
+        }
+        sb.append(text.substring(start));
+        return sb.toString();
+    }
+
+    /**
+     * Callback interface for documents parsed incrementally
+     */
+    public static interface ParserCallback {
+
+        /**
+         * Called after each time slice, while the document is still being parsed
+         */
+        public void onSliceParsed();
+
+        /**
+         * Called when the end of the document is reached
+         */
+        public void onParseComplete();
+
+        /**
+         * Called if an error occurs during parsing
+         *
+         * @param exception the parse error
+         */
+        public void onParseError(ParseException exception);
+    }
+
+    /**
+     * Reusable attribute view.  Holds the offsets of the attribute names and values
+     * in the document, strings are only created when requested.
+     */
+    private class AttributeView implements SAXAttributes {
+
+        private int offsets[] = new int[16];
+        private int count;
+
+        void clear() {
+            count = 0;
+        }
+
+        void add(int nameStart, int nameEnd, int valueStart, int valueEnd) {
+            if ((count + 1) * 4 > offsets.length) {
+                int[] o = new int[offsets.length * 2];
+                System.arraycopy(offsets, 0, o, 0, offsets.length);
+                offsets = o;
+            }
+            int j = count++ * 4;
+            offsets[j] = nameStart;
+            offsets[j + 1] = nameEnd;
+            offsets[j + 2] = valueStart;
+            offsets[j + 3] = valueEnd;
+        }
+
+        @Override
+        public int getLength() {
+            return count;
+        }
+
+        @Override
+        public String getName(int index) {
+            checkIndex(index);
+            return xml.substring(offsets[index * 4], offsets[index * 4 + 1]);
+        }
+
+        @Override
+        public String getValue(int index) {
+            checkIndex(index);
+            return decodeEntities(xml.substring(offsets[index * 4 + 2], offsets[index * 4 + 3]));
+        }
+
+        @Override
+        public String getValue(String name) {
+            for (int i = 0; i < count; i++) {
+                if (nameMatches(offsets[i * 4], offsets[i * 4 + 1], name)) {
+                    return getValue(i);
+                }
+            }
+            return null;
+        }
+
+        private boolean nameMatches(int start, int end, String name) {
+            if (end - start != name.length()) {
+                return false;
+            }
+            for (int i = 0; i < name.length(); i++) {
+                char a = xml.charAt(start + i), b = name.charAt(i);
+                if ((a != b) && (Character.toLowerCase(a) != Character.toLowerCase(b))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void checkIndex(int index) {
+            if ((index < 0) || (index >= count)) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + count);
             }
         }
     }
+
+    private static class NSDeclaration {
+
+        int depth;
+        String prefix, uri;
+
+        public NSDeclaration(int depth, String prefix, String uri) {
+            this.depth = depth;
+            this.prefix = prefix;
+            this.uri = uri;
+        }
+    }
 }
@@ -15,20 +15,23 @@
  */
 package com.bramosystems.oss.player.playlist.client.impl;
 
+import com.bramosystems.oss.player.playlist.client.ParseCallback;
 import com.bramosystems.oss.player.playlist.client.ParseException;
 import com.bramosystems.oss.player.playlist.client.spf.Attribution;
 import com.bramosystems.oss.player.playlist.client.spf.SPFPlaylist;
 import com.bramosystems.oss.player.playlist.client.spf.Track;
 import com.google.gwt.core.client.JsArray;
+import com.google.gwt.core.client.JsArrayString;
 import com.google.gwt.i18n.client.DateTimeFormat;
-import com.google.gwt.xml.client.XMLParser;
-import java.util.HashMap;
 
 /**
  *
  * @author Sikirulai Braheem <sbraheem at bramosystems.com>
  */
-public class XSPFHandler implements SAXHandler {
+public class XSPFHandler implements SAXAttributesHandler {
+
+    private static final NodeNameIndex<XSPFNodeNames> nodeNames =
+            new NodeNameIndex<XSPFNodeNames>(XSPFNodeNames.values(), XSPFNodeNames.UNKNOWN);
 
     private SPFPlaylist playlist;
     private Track track;
@@ -36,9 +39,9 @@ public class XSPFHandler implements SAXHandler {
     private XSPFNodeNames parentNode;
 
     @Override
-    public void onNodeStart(String nodeName, HashMap<String, String> attr, String namespaceURI) throws ParseException {
+    public void onNodeStart(String nodeName, SAXAttributes attr, String namespaceURI) throws ParseException {
         try {
-            switch (XSPFNodeNames.valueOf(nodeName.toLowerCase())) {
+            switch (nodeNames.get(nodeName)) {
                 case playlist:
                     JsArray<Track> t = JsArray.createArray().cast();
                     playlist.setTracks(t);
@@ -50,6 +53,8 @@ public class XSPFHandler implements SAXHandler {
                     break;
                 case track:
                     track = Track.createObject().cast();
+                    track.setLocation(JsArrayString.createArray().<JsArrayString>cast());
+                    track.setIdentifier(JsArrayString.createArray().<JsArrayString>cast());
                     parentNode = XSPFNodeNames.track;
                     break;
             }
@@ -61,7 +66,7 @@ public class XSPFHandler implements SAXHandler {
     @Override
     public void setNodeValue(String nodeName, String value) throws ParseException {
         try {
-            switch (XSPFNodeNames.valueOf(nodeName.toLowerCase())) {
+            switch (nodeNames.get(nodeName)) {
                 case title:
                     switch (parentNode) {
                         case playlist:
@@ -176,7 +181,7 @@ public class XSPFHandler implements SAXHandler {
     @Override
     public void onNodeEnd(String nodeName) throws ParseException {
         try {
-            switch (XSPFNodeNames.valueOf(nodeName.toLowerCase())) {
+            switch (nodeNames.get(nodeName)) {
                 case track:
                     playlist.getTracks().push(track);
                     parentNode = XSPFNodeNames.playlist;
@@ -194,14 +199,36 @@ public class XSPFHandler implements SAXHandler {
     public SPFPlaylist getPlaylist(String xspf) throws ParseException {
         playlist = SPFPlaylist.createObject().cast();
         SAXParser sax = new SAXParser(this);
-        sax.parseDocument(XMLParser.parse(xspf));
+        sax.parse(xspf);
         return playlist;
     }
 
+    public void getPlaylist(String xspf, final ParseCallback<SPFPlaylist> callback) {
+        playlist = SPFPlaylist.createObject().cast();
+        SAXParser sax = new SAXParser(this);
+        sax.parseIncremental(xspf, new SAXParser.ParserCallback() {
+
+            @Override
+            public void onSliceParsed() {
+                callback.onProgress(playlist);
+            }
+
+            @Override
+            public void onParseComplete() {
+                callback.onSuccess(playlist);
+            }
+
+            @Override
+            public void onParseError(ParseException exception) {
+                callback.onFailure(exception);
+            }
+        });
+    }
+
     private enum XSPFNodeNames {
 
         playlist, title, creator, annotation, info, location, identifier, image, date,
         license, attribution, track, album, tracknum, duration, link, meta, tracklist,
-        rel, extension, version
+        rel, extension, version, UNKNOWN
     }
 }
@@ -105,5 +105,26 @@
  * </code></pre>
  * 
  * Other supported playlist formats can be used in a similar way with the <code>PlaylistFactory</code>.
+ *
+ * <h3>Parsing large playlists</h3>
+ * XML playlists with many entries can be parsed asynchronously so that the browser remains
+ * responsive.  The playlist data is parsed in time slices and the entries parsed so far are
+ * available as the parsing progresses:
+ *
+ * <pre><code>
+ *      PlaylistFactory.parseXspfPlaylist(response.getText(), new ParseCallback&lt;SPFPlaylist&gt;() {
+ *
+ *          public void onProgress(SPFPlaylist playlist) {
+ *              GWT.log("Tracks parsed so far : " + playlist.getTracks().length());
+ *          }
+ *
+ *          public void onSuccess(SPFPlaylist playlist) {
+ *              playerWidget.addToPlaylist(playlist.toPlaylist());
+ *          }
+ *
+ *          public void onFailure(ParseException exception) {
+ *          }
+ *      });
+ * </code></pre>
  */
 package com.bramosystems.oss.player.playlist.client;
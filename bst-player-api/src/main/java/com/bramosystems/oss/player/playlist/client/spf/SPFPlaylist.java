@@ -16,6 +16,7 @@
 package com.bramosystems.oss.player.playlist.client.spf;
 
 import com.bramosystems.oss.player.core.client.PlaylistSupport;
+import com.bramosystems.oss.player.core.client.playlist.LazyPlaylist;
 import com.bramosystems.oss.player.core.client.playlist.MRL;
 import com.bramosystems.oss.player.core.client.playlist.Playlist;
 import com.google.gwt.core.client.JavaScriptObject;
@@ -248,26 +249,35 @@ public final class SPFPlaylist extends JavaScriptObject {
 
     /**
      * Returns this playlist as a Playlist object that can be used with player widgets 
-     * with {@link PlaylistSupport}
+     * with {@link PlaylistSupport}.
+     * 
+     * <p>The returned playlist is backed by the tracks of this playlist.  The MRL of 
+     * a track is created when the track is first accessed.
      * 
      * @return Playlist object
      */
     public final Playlist toPlaylist() {
-        Playlist p = new Playlist();
-        p.setName(getTitle());
-        p.setAuthor(getCreator());
+        final JsArray<Track> ts = getTracks();
+        Playlist p = new LazyPlaylist(new LazyPlaylist.Source() {
 
-        JsArray<Track> ts = getTracks();
-        for (int i = 0; i < ts.length(); i++) {
-            Track t = ts.get(i);
+            @Override
+            public int getSize() {
+                return ts == null ? 0 : ts.length();
+            }
 
-            MRL m = new MRL(t.getTitle(), t.getCreator());
-            JsArrayString js = t.getLocation();
-            for (int j = 0; j < js.length(); j++) {
-                m.addURL(js.get(j));
+            @Override
+            public MRL createMRL(int index) {
+                Track t = ts.get(index);
+                MRL m = new MRL(t.getTitle(), t.getCreator());
+                JsArrayString js = t.getLocation();
+                for (int j = 0; j < js.length(); j++) {
+                    m.addURL(js.get(j));
+                }
+                return m;
             }
-            p.add(m);
-        }        
+        });
+        p.setName(getTitle());
+        p.setAuthor(getCreator());
         return p;
     }
 }
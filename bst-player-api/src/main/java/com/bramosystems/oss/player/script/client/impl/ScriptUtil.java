@@ -41,6 +41,7 @@ import com.bramosystems.oss.player.util.client.RegExp;
 import com.bramosystems.oss.player.util.client.RegExp.RegexException;
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.event.shared.HandlerRegistration;
 import com.google.gwt.user.client.ui.RootPanel;
 import com.google.gwt.user.client.ui.Widget;
 import java.util.EnumMap;
@@ -123,6 +124,8 @@ public class ScriptUtil {
         }
         private AbstractMediaPlayer player;
         private EnumMap<EventName, JavaScriptObject> eventHandlers;
+        private HandlerRegistration debugBridge;
+        private DebugEvent.MessageType debugBridgeLevel;
 
         public ScriptPlayer(String name, String url, boolean autoplay, String width,
                 String height, JavaScriptObject options) {
@@ -136,28 +139,7 @@ public class ScriptUtil {
                 player = provider.getPlayer(name, url, autoplay, width, height, map);
                 initWidget(player);
 
-                player.addDebugHandler(new DebugHandler() {
-
-                    @Override
-                    public void onDebug(DebugEvent event) {
-                        switch (event.getMessageType()) {
-                            case Info:
-                                if (eventHandlers.containsKey(EventName.onDebug)) {
-                                    JavaScriptObject evt = JavaScriptObject.createObject();
-                                    putEventValue(evt, "message", event.getMessage());
-                                    runCallback(eventHandlers.get(EventName.onDebug), evt);
-                                }
-                                break;
-                            case Error:
-                                if (eventHandlers.containsKey(EventName.onError)) {
-                                    JavaScriptObject evt = JavaScriptObject.createObject();
-                                    putEventValue(evt, "message", event.getMessage());
-                                    runCallback(eventHandlers.get(EventName.onError), evt);
-                                }
-                                break;
-                        }
-                    }
-                });
+                wrapEvents(player);
                 player.addPlayerStateHandler(new PlayerStateHandler() {
 
                     @Override
@@ -346,10 +328,51 @@ public class ScriptUtil {
             try {
                 EventName evnt = EventName.valueOf(eventName);
                 eventHandlers.put(evnt, callback);
+                if (evnt == EventName.onDebug || evnt == EventName.onError) {
+                    bridgeDebugEvents();
+                }
             } catch (Exception e) {
             }
         }
 
+        /**
+         * Registers a debug handler on the player at the level required by the script
+         * callbacks, such that debug messages are not built for callbacks that do not exist
+         */
+        private void bridgeDebugEvents() {
+            DebugEvent.MessageType level = eventHandlers.containsKey(EventName.onDebug)
+                    ? DebugEvent.MessageType.Info : DebugEvent.MessageType.Error;
+            if (player == null || level == debugBridgeLevel) {
+                return;
+            }
+            if (debugBridge != null) {
+                debugBridge.removeHandler();
+            }
+            debugBridgeLevel = level;
+            debugBridge = player.addDebugHandler(new DebugHandler() {
+
+                @Override
+                public void onDebug(DebugEvent event) {
+                    switch (event.getMessageType()) {
+                        case Info:
+                            if (eventHandlers.containsKey(EventName.onDebug)) {
+                                JavaScriptObject evt = JavaScriptObject.createObject();
+                                putEventValue(evt, "message", event.getMessage());
+                                runCallback(eventHandlers.get(EventName.onDebug), evt);
+                            }
+                            break;
+                        case Error:
+                            if (eventHandlers.containsKey(EventName.onError)) {
+                                JavaScriptObject evt = JavaScriptObject.createObject();
+                                putEventValue(evt, "message", event.getMessage());
+                                runCallback(eventHandlers.get(EventName.onError), evt);
+                            }
+                            break;
+                    }
+                }
+            }, level);
+        }
+
         public void setConfigParameter(String param, String value) {
             /*TODO : check structure / auto inject
             if (player != null) {
@@ -418,6 +441,13 @@ public class ScriptUtil {
             }
         }
 
+        @Override
+        public void removeFromPlaylist(int fromIndex, int toIndex) {
+            if ((player != null) && (player instanceof PlaylistSupport)) {
+                ((PlaylistSupport) player).removeFromPlaylist(fromIndex, toIndex);
+            }
+        }
+
         @Override
         public void clearPlaylist() {
             if ((player != null) && (player instanceof PlaylistSupport)) {
@@ -425,6 +455,11 @@ public class ScriptUtil {
             }
         }
 
+        @Override
+        public void replacePlaylist(List<MRL> mediaLocators) {
+            // not supported in javascript
+        }
+
         @Override
         public void playNext() throws PlayException {
             if ((player != null) && (player instanceof PlaylistSupport)) {
@@ -20,7 +20,6 @@ import com.bramosystems.oss.player.core.client.*;
 import com.bramosystems.oss.player.core.client.geom.MatrixSupport;
 import com.bramosystems.oss.player.core.client.geom.TransformationMatrix;
 import com.bramosystems.oss.player.core.client.impl.plugin.PlayerManager;
-import com.bramosystems.oss.player.core.event.client.*;
 import com.bramosystems.oss.player.util.client.RegExp;
 import com.bramosystems.oss.player.util.client.RegExp.RegexException;
 import com.google.gwt.core.client.GWT;
@@ -128,41 +127,7 @@ public class Player extends AbstractMediaPlayer
         
         try {
             _engine = PlayerManager.getInstance().getProviderFactory(_provider).getPlayer(_playerName, _url, _autoplay, _height, _width);
-            _engine.addDebugHandler(new DebugHandler() {
-                
-                @Override
-                public void onDebug(DebugEvent event) {
-                    fireEvent(event);
-                }
-            });
-            _engine.addLoadingProgressHandler(new LoadingProgressHandler() {
-                
-                @Override
-                public void onLoadingProgress(LoadingProgressEvent event) {
-                    fireEvent(event);
-                }
-            });
-            _engine.addMediaInfoHandler(new MediaInfoHandler() {
-                
-                @Override
-                public void onMediaInfoAvailable(MediaInfoEvent event) {
-                    fireEvent(event);
-                }
-            });
-            _engine.addPlayStateHandler(new PlayStateHandler() {
-                
-                @Override
-                public void onPlayStateChanged(PlayStateEvent event) {
-                    fireEvent(event);
-                }
-            });
-            _engine.addPlayerStateHandler(new PlayerStateHandler() {
-                
-                @Override
-                public void onPlayerStateChanged(PlayerStateEvent event) {
-                    fireEvent(event);
-                }
-            });
+            wrapEvents(_engine);
             loadWidget = _engine;
         } catch (PluginNotFoundException ex) {
             missingPluginNotice = PlayerUtil.getMissingPluginNotice(ex.getPlugin());
@@ -391,6 +356,13 @@ public class Player extends AbstractMediaPlayer
         }
     }
     
+    @Override
+    public void removeFromPlaylist(int fromIndex, int toIndex) {
+        if ((_engine != null) && (_engine instanceof com.bramosystems.oss.player.core.client.PlaylistSupport)) {
+            ((com.bramosystems.oss.player.core.client.PlaylistSupport) _engine).removeFromPlaylist(fromIndex, toIndex);
+        }
+    }
+    
     @Override
     public void clearPlaylist() {
         if ((_engine != null) && (_engine instanceof com.bramosystems.oss.player.core.client.PlaylistSupport)) {
@@ -398,6 +370,13 @@ public class Player extends AbstractMediaPlayer
         }
     }
     
+    @Override
+    public void replacePlaylist(List<MRL> mediaLocators) {
+        if (_engine instanceof com.bramosystems.oss.player.core.client.PlaylistSupport) {
+            ((com.bramosystems.oss.player.core.client.PlaylistSupport) _engine).replacePlaylist(mediaLocators);
+        }
+    }
+    
     @Override
     public int getPlaylistSize() {
         if (_engine == null) {
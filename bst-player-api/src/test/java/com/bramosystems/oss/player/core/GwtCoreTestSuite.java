@@ -18,6 +18,14 @@ package com.bramosystems.oss.player.core;
 
 import com.bramosystems.oss.player.core.client.TxtPlayTime;
 import com.bramosystems.oss.player.core.client.TxtTransformationMatrix;
+import com.bramosystems.oss.player.core.client.impl.TxtCoalescingDispatcher;
+import com.bramosystems.oss.player.core.client.impl.TxtPlaybackClock;
+import com.bramosystems.oss.player.core.client.impl.playlist.TxtIndexedList;
+import com.bramosystems.oss.player.core.client.impl.playlist.TxtPlaylistIndexOracle;
+import com.bramosystems.oss.player.core.client.ui.TxtLogger;
+import com.bramosystems.oss.player.core.event.client.TxtDebugEvent;
+import com.bramosystems.oss.player.playlist.client.TxtPlaylistFactory;
+import com.bramosystems.oss.player.playlist.client.impl.TxtSAXParser;
 import com.google.gwt.junit.tools.GWTTestSuite;
 import junit.framework.Test;
 
@@ -31,6 +39,14 @@ public class GwtCoreTestSuite extends GWTTestSuite {
         GWTTestSuite suite = new GWTTestSuite("Test Core Module");
         suite.addTestSuite(TxtPlayTime.class);
         suite.addTestSuite(TxtTransformationMatrix.class);
+        suite.addTestSuite(TxtPlaylistIndexOracle.class);
+        suite.addTestSuite(TxtIndexedList.class);
+        suite.addTestSuite(TxtDebugEvent.class);
+        suite.addTestSuite(TxtCoalescingDispatcher.class);
+        suite.addTestSuite(TxtPlaybackClock.class);
+        suite.addTestSuite(TxtPlaylistFactory.class);
+        suite.addTestSuite(TxtSAXParser.class);
+        suite.addTestSuite(TxtLogger.class);
         return suite;
     }
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2011 Sikirulai Braheem <sbraheem at bramosystems.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bramosystems.oss.player.core.client.impl;
+
+import com.google.gwt.junit.client.GWTTestCase;
+import com.google.gwt.user.client.Timer;
+import java.util.ArrayList;
+import org.junit.Test;
+
+/**
+ *
+ * @author Sikirulai Braheem <sbraheem at bramosystems dot com>
+ */
+public class TxtCoalescingDispatcher extends GWTTestCase {
+
+    public TxtCoalescingDispatcher() {
+    }
+
+    private static class Recorder extends CoalescingDispatcher {
+
+        private ArrayList<Double> values = new ArrayList<Double>();
+
+        public Recorder(int interval) {
+            super(interval);
+        }
+
+        @Override
+        protected void dispatch(double value) {
+            values.add(value);
+        }
+    }
+
+    @Test
+    public void testUncoalesced() {
+        System.out.println("uncoalesced");
+        Recorder r = new Recorder(-1);
+        r.post(0.1);
+        r.post(0.2);
+        assertEquals(2, r.values.size());
+    }
+
+    @Test
+    public void testTerminalValue() {
+        System.out.println("terminal value");
+        Recorder r = new Recorder(50);
+        r.post(0.3);
+        r.post(0.6);
+        r.postNow(1.0);
+        assertEquals(1, r.values.size());
+        assertEquals(1.0, r.values.get(0), 0);
+        r.flush();
+        assertEquals(1, r.values.size());   // superseded values are dropped ...
+    }
+
+    @Test
+    public void testInterval() {
+        System.out.println("interval");
+        final Recorder r = new Recorder(50);
+        for (int i = 1; i < 10; i++) {
+            r.post(i / 10.0);
+        }
+        assertTrue(r.values.isEmpty());
+        delayTestFinish(2000);
+        new Timer() {
+
+            @Override
+            public void run() {
+                assertEquals(1, r.values.size());
+                assertEquals(0.9, r.values.get(0), 0);
+                finishTest();
+            }
+        }.schedule(200);
+    }
+
+    @Test
+    public void testAnimationFrame() {
+        System.out.println("animation frame");
+        final Recorder r = new Recorder(0);
+        r.post(0.2);
+        r.post(0.4);
+        delayTestFinish(2000);
+        new Timer() {
+
+            @Override
+            public void run() {
+                assertEquals(1, r.values.size());
+                assertEquals(0.4, r.values.get(0), 0);
+                finishTest();
+            }
+        }.schedule(500);
+    }
+
+    @Override
+    public String getModuleName() {
+        return "com.bramosystems.oss.player.core.Core";
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2011 Sikirulai Braheem <sbraheem at bramosystems.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bramosystems.oss.player.core.client.impl;
+
+import com.google.gwt.core.client.Duration;
+import com.google.gwt.junit.client.GWTTestCase;
+import com.google.gwt.user.client.Timer;
+import java.util.ArrayList;
+import org.junit.Test;
+
+/**
+ *
+ * @author Sikirulai Braheem <sbraheem at bramosystems dot com>
+ */
+public class TxtPlaybackClock extends GWTTestCase {
+
+    private static final int PERIOD = 50;
+    private ArrayList<Recorder> recorders = new ArrayList<Recorder>();
+
+    public TxtPlaybackClock() {
+    }
+
+    private class Recorder extends PlaybackClock.Task {
+
+        private ArrayList<Double> runs = new ArrayList<Double>();
+        private boolean changed;
+
+        public Recorder(boolean changed) {
+            super(PERIOD);
+            this.changed = changed;
+            recorders.add(this);
+        }
+
+        @Override
+        protected boolean run() {
+            runs.add(Duration.currentTimeMillis());
+            return changed;
+        }
+
+        public int countSince(double time) {
+            int c = 0;
+            for (double r : runs) {
+                if (r >= time) {
+                    c++;
+                }
+            }
+            return c;
+        }
+
+        public double maxGap() {
+            double gap = 0;
+            for (int i = 1; i < runs.size(); i++) {
+                gap = Math.max(gap, runs.get(i) - runs.get(i - 1));
+            }
+            return gap;
+        }
+    }
+
+    @Override
+    protected void gwtTearDown() throws Exception {
+        for (Recorder r : recorders) {
+            r.cancel();
+        }
+        recorders.clear();
+        PlaybackClock.get().onVisibilityChanged(false);
+    }
+
+    @Test
+    public void testBackoffCap() {
+        System.out.println("backoff cap");
+        final Recorder r = new Recorder(false);
+        r.start();
+        delayTestFinish(5000);
+        new Timer() {
+
+            @Override
+            public void run() {
+                // unchanging tasks are stretched, 30 runs at the requested period ...
+                assertTrue(r.runs.size() < 15);
+                // ... but never beyond MAX_BACKOFF times the period, 5 runs uncapped ...
+                assertTrue(r.runs.size() > 6);
+                assertTrue(r.maxGap() < PERIOD * PlaybackClock.MAX_BACKOFF + 150);
+                finishTest();
+            }
+        }.schedule(1500);
+    }
+
+    @Test
+    public void testRestartOnChange() {
+        System.out.println("restart on change");
+        final Recorder r = new Recorder(false);
+        r.start();
+        delayTestFinish(5000);
+        new Timer() {
+
+            @Override
+            public void run() {
+                // backed off, a change brings the task back to the requested period ...
+                final double t = Duration.currentTimeMillis();
+                assertTrue(r.countSince(t - 400) <= 3);
+                r.changed = true;
+                new Timer() {
+
+                    @Override
+                    public void run() {
+                        assertTrue(r.countSince(t + 250) >= 4);
+
+                        // restarting a backed off task runs it within one period ...
+                        r.changed = false;
+                        new Timer() {
+
+                            @Override
+                            public void run() {
+                                final double s = Duration.currentTimeMillis();
+                                r.start();
+                                assertTrue(r.isRunning());
+                                new Timer() {
+
+                                    @Override
+                                    public void run() {
+                                        assertTrue(r.countSince(s) >= 1);
+                                        r.cancel();
+                                        assertFalse(r.isRunning());
+                                        finishTest();
+                                    }
+                                }.schedule(PERIOD + 100);
+                            }
+                        }.schedule(800);
+                    }
+                }.schedule(750);
+            }
+        }.schedule(800);
+    }
+
+    @Test
+    public void testRunWhenHidden() {
+        System.out.println("runWhenHidden");
+        final Recorder visible = new Recorder(true);
+        final Recorder hidden = new Recorder(true);
+        hidden.setRunWhenHidden(true);
+        visible.start();
+        hidden.start();
+
+        PlaybackClock.get().onVisibilityChanged(true);
+        assertTrue(PlaybackClock.isPageHidden());
+        final double t = Duration.currentTimeMillis();
+        delayTestFinish(5000);
+        new Timer() {
+
+            @Override
+            public void run() {
+                // only opted in tasks run, at most once per second ...
+                assertEquals(0, visible.countSince(t));
+                int c = hidden.countSince(t);
+                assertTrue(c >= 1 && c <= 3);
+
+                // all tasks run at once when the page is visible again ...
+                PlaybackClock.get().onVisibilityChanged(false);
+                final double s = Duration.currentTimeMillis();
+                new Timer() {
+
+                    @Override
+                    public void run() {
+                        assertTrue(visible.countSince(s) >= 1);
+                        assertTrue(hidden.countSince(s) >= 1);
+                        finishTest();
+                    }
+                }.schedule(PERIOD);
+            }
+        }.schedule(1500);
+    }
+
+    @Override
+    public String getModuleName() {
+        return "com.bramosystems.oss.player.core.Core";
+    }
+}
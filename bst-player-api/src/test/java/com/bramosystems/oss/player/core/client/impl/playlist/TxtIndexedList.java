@@ -0,0 +1,94 @@
+/*
+ * Copyright 2011 Sikirulai Braheem.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bramosystems.oss.player.core.client.impl.playlist;
+
+import com.google.gwt.junit.client.GWTTestCase;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import org.junit.Test;
+
+/**
+ *
+ * @author Sikirulai Braheem <sbraheem at bramosystems dot com>
+ */
+public class TxtIndexedList extends GWTTestCase {
+
+    public TxtIndexedList() {
+    }
+
+    @Test
+    public void testEdits() {
+        System.out.println("edits");
+        ArrayList<Integer> expected = new ArrayList<Integer>();
+        IndexedList<Integer> instance = new IndexedList<Integer>();
+        for (int i = 0; i < 1000; i++) {
+            int pos = (i * 7) % (expected.size() + 1);
+            expected.add(pos, i);
+            instance.add(pos, i);
+        }
+        for (int i = 0; i < 300; i++) {
+            int pos = (i * 13) % expected.size();
+            assertEquals(expected.remove(pos), instance.remove(pos));
+        }
+        assertEquals(expected, instance);
+    }
+
+    @Test
+    public void testMoveAndSplice() {
+        System.out.println("move/splice");
+        IndexedList<String> instance = new IndexedList<String>(Arrays.asList("a", "b", "c", "d", "e"));
+        instance.move(0, 4);
+        assertEquals(Arrays.asList("b", "c", "d", "e", "a"), instance);
+        instance.move(3, 1);
+        assertEquals(Arrays.asList("b", "e", "c", "d", "a"), instance);
+        instance.splice(1, 3, Arrays.asList("x", "y"));
+        assertEquals(Arrays.asList("b", "x", "y", "a"), instance);
+        instance.subList(0, 2).clear();
+        assertEquals(Arrays.asList("y", "a"), instance);
+    }
+
+    @Test
+    public void testOver() {
+        System.out.println("over");
+        final int[] created = new int[1];
+        AbstractList<String> source = new AbstractList<String>() {
+
+            @Override
+            public String get(int index) {
+                created[0]++;
+                return "s" + index;
+            }
+
+            @Override
+            public int size() {
+                return 1000;
+            }
+        };
+        IndexedList<String> instance = IndexedList.over(source);
+        instance.add("x");
+        instance.remove(0);
+        assertEquals(1, created[0]);
+        assertEquals("x", instance.get(999));
+        assertEquals("s5", instance.get(4));
+        assertEquals(2, created[0]);
+    }
+
+    @Override
+    public String getModuleName() {
+        return "com.bramosystems.oss.player.core.Core";
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2011 Sikirulai Braheem.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bramosystems.oss.player.core.client.impl.playlist;
+
+import com.google.gwt.junit.client.GWTTestCase;
+import org.junit.Test;
+
+/**
+ *
+ * @author Sikirulai Braheem <sbraheem at bramosystems dot com>
+ */
+public class TxtPlaylistIndexOracle extends GWTTestCase {
+
+    public TxtPlaylistIndexOracle() {
+    }
+
+    private PlaylistIndexOracle createRandom(int size, int seed) {
+        PlaylistIndexOracle o = new PlaylistIndexOracle(size);
+        o.setRandomMode(true);
+        o.setSeed(seed);
+        return o;
+    }
+
+    @Test
+    public void testRandomPass() {
+        System.out.println("random pass");
+        PlaylistIndexOracle o = createRandom(500, 42);
+        boolean[] seen = new boolean[500];
+        for (int i = 0; i < 500; i++) {
+            int ind = o.suggestIndex(true, false);
+            assertTrue(ind >= 0 && ind < 500);
+            assertFalse(seen[ind]);
+            seen[ind] = true;
+        }
+        assertEquals(-1, o.suggestIndex(true, false));
+    }
+
+    @Test
+    public void testSeed() {
+        System.out.println("seed");
+        PlaylistIndexOracle a = createRandom(50, 7), b = createRandom(50, 7);
+        for (int i = 0; i < 50; i++) {
+            assertEquals(a.suggestIndex(true, false), b.suggestIndex(true, false));
+        }
+    }
+
+    @Test
+    public void testHistory() {
+        System.out.println("history");
+        PlaylistIndexOracle o = createRandom(20, 3);
+        int first = o.suggestIndex(true, false);
+        int second = o.suggestIndex(true, false);
+        int third = o.suggestIndex(true, false);
+        assertEquals(second, o.suggestIndex(false, false));
+        assertEquals(first, o.suggestIndex(false, false));
+        assertEquals(-1, o.suggestIndex(false, false));
+        o.setCurrentIndex(first);
+        assertEquals(second, o.suggestIndex(true, false));
+        assertEquals(third, o.suggestIndex(true, false));
+    }
+
+    @Test
+    public void testRemoveDuringPass() {
+        System.out.println("removeFromCache");
+        PlaylistIndexOracle o = createRandom(10, 11);
+        for (int i = 0; i < 4; i++) {
+            o.suggestIndex(true, false);
+        }
+        o.removeFromCache(0);
+        o.removeFromCache(8);
+        o.incrementIndexSize();
+
+        int count = 0;
+        boolean[] seen = new boolean[9];
+        for (int ind = o.suggestIndex(true, false); ind >= 0; ind = o.suggestIndex(true, false)) {
+            assertTrue(ind < 9);
+            assertFalse(seen[ind]);
+            seen[ind] = true;
+            count++;
+        }
+        assertTrue(count <= 9 && count >= 5);
+    }
+
+    @Test
+    public void testSequential() {
+        System.out.println("sequential");
+        PlaylistIndexOracle o = new PlaylistIndexOracle(3);
+        o.setCurrentIndex(0);
+        assertEquals(1, o.suggestIndex(true, false));
+        o.removeFromCache(0);
+        assertEquals(0, o.getCurrentIndex());
+        assertEquals(1, o.suggestIndex(true, false));
+        assertEquals(-1, o.suggestIndex(true, false));
+        assertEquals(0, o.suggestIndex(true, true));
+    }
+
+    @Test
+    public void testInsertAndMove() {
+        System.out.println("insertIndex/moveIndex");
+        PlaylistIndexOracle o = new PlaylistIndexOracle(5);
+        o.setCurrentIndex(2);
+        o.insertIndex(0);
+        assertEquals(3, o.getCurrentIndex());
+        o.moveIndex(3, 5);
+        assertEquals(5, o.getCurrentIndex());
+        o.moveIndex(0, 5);
+        assertEquals(4, o.getCurrentIndex());
+
+        o.setRandomMode(true);
+        o.setSeed(5);
+        boolean[] seen = new boolean[6];
+        seen[4] = true;
+        for (int ind = o.suggestIndex(true, false); ind >= 0; ind = o.suggestIndex(true, false)) {
+            assertFalse(seen[ind]);
+            seen[ind] = true;
+        }
+        for (boolean b : seen) {
+            assertTrue(b);
+        }
+    }
+
+    @Test
+    public void testRemoveRange() {
+        System.out.println("removeRange");
+        PlaylistIndexOracle o = createRandom(1000, 13);
+        for (int i = 0; i < 100; i++) {
+            o.suggestIndex(true, false);
+        }
+        o.removeRange(100, 900);
+
+        int count = 0;
+        boolean[] seen = new boolean[200];
+        for (int ind = o.suggestIndex(true, false); ind >= 0; ind = o.suggestIndex(true, false)) {
+            assertTrue(ind < 200);
+            assertFalse(seen[ind]);
+            seen[ind] = true;
+            count++;
+        }
+        assertTrue(count < 200);
+        o.setIndexSize(0);
+        assertEquals(-1, o.suggestIndex(true, true));
+    }
+
+    @Override
+    public String getModuleName() {
+        return "com.bramosystems.oss.player.core.Core";
+    }
+}
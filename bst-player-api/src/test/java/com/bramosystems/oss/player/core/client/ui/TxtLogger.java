@@ -0,0 +1,115 @@
+/*
+ * Copyright 2013 Sikirulai Braheem <sbraheem at bramosystems.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bramosystems.oss.player.core.client.ui;
+
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.dom.client.NodeList;
+import com.google.gwt.junit.client.GWTTestCase;
+import com.google.gwt.user.client.Timer;
+import com.google.gwt.user.client.ui.RootPanel;
+import org.junit.Test;
+
+/**
+ *
+ * @author Sikirulai Braheem <sbraheem at bramosystems dot com>
+ */
+public class TxtLogger extends GWTTestCase {
+
+    public TxtLogger() {
+    }
+
+    @Test
+    public void testHistory() {
+        System.out.println("history");
+        Logger.LoggerConsoleImpl console = new Logger.LoggerConsoleImpl();
+        assertEquals("", console.getHistory());
+        console.log("one", false);
+        console.log("<b>two</b>", true);
+        assertEquals("one\n<b>two</b>\n", console.getHistory());
+
+        console.clear();
+        assertEquals("", console.getHistory());
+    }
+
+    @Test
+    public void testRingBuffer() {
+        System.out.println("ring buffer");
+        Logger.LoggerConsoleImpl console = new Logger.LoggerConsoleImpl();
+        console.setCapacity(3);
+        for (int i = 1; i <= 5; i++) {
+            console.log("m" + i, false);
+        }
+        assertEquals("m3\nm4\nm5\n", console.getHistory());
+
+        console.log("m6", false);
+        assertEquals("m4\nm5\nm6\n", console.getHistory());
+    }
+
+    @Test
+    public void testSetCapacity() {
+        System.out.println("setCapacity");
+        Logger.LoggerConsoleImpl console = new Logger.LoggerConsoleImpl();
+        for (int i = 1; i <= 4; i++) {
+            console.log("m" + i, false);
+        }
+
+        // shrinking keeps the most recent ...
+        console.setCapacity(2);
+        assertEquals("m3\nm4\n", console.getHistory());
+
+        // growing keeps all, in order ...
+        console.setCapacity(5);
+        console.log("m5", false);
+        assertEquals("m3\nm4\nm5\n", console.getHistory());
+
+        console.setCapacity(0);     // at least one ...
+        assertEquals("m5\n", console.getHistory());
+    }
+
+    @Test
+    public void testFullTextTitle() {
+        System.out.println("full text title");
+        final String text = "Error loading 'http://example.com/a/very/long/path/to/the/media/file.mp4'"
+                + " - the server responded with an unexpected status";
+        final Logger logger = new Logger();
+        RootPanel.get().add(logger);
+        logger.log(text, false);
+        logger.log("Line 1<br/>Line 2", true);
+
+        delayTestFinish(2000);
+        new Timer() {
+
+            @Override
+            public void run() {
+                NodeList<Element> divs = logger.getElement().getElementsByTagName("div");
+                boolean plain = false, html = false;
+                for (int i = 0; i < divs.getLength(); i++) {
+                    plain |= text.equals(divs.getItem(i).getTitle());
+                    html |= divs.getItem(i).getTitle().startsWith("Line 1");
+                }
+                RootPanel.get().remove(logger);
+                assertTrue(plain);
+                assertTrue(html);
+                finishTest();
+            }
+        }.schedule(500);
+    }
+
+    @Override
+    public String getModuleName() {
+        return "com.bramosystems.oss.player.core.Core";
+    }
+}
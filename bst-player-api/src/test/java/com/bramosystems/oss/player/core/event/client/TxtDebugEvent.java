@@ -0,0 +1,44 @@
+/*
+ * Copyright 2011 Sikirulai Braheem.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bramosystems.oss.player.core.event.client;
+
+import com.google.gwt.junit.client.GWTTestCase;
+import org.junit.Test;
+
+/**
+ *
+ * @author Sikirulai Braheem <sbraheem at bramosystems dot com>
+ */
+public class TxtDebugEvent extends GWTTestCase {
+
+    public TxtDebugEvent() {
+    }
+
+    @Test
+    public void testFormatMessage() {
+        System.out.println("formatMessage");
+        assertEquals("Resizing Player : 320 x 240", DebugEvent.formatMessage("Resizing Player : {0} x {1}", 320, 240));
+        assertEquals("Loading 'a.mp3' - 'a.mp3'", DebugEvent.formatMessage("Loading '{0}' - '{0}'", "a.mp3"));
+        assertEquals("{1} {x} {} {", DebugEvent.formatMessage("{1} {x} {} {", "a"));
+        assertEquals("{0} as is", DebugEvent.formatMessage("{0} as is"));
+        assertNull(DebugEvent.formatMessage(null));
+    }
+
+    @Override
+    public String getModuleName() {
+        return "com.bramosystems.oss.player.core.Core";
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2011 Sikirulai Braheem <sbraheem at bramosystems.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bramosystems.oss.player.playlist.client;
+
+import com.bramosystems.oss.player.core.client.playlist.Playlist;
+import com.bramosystems.oss.player.playlist.client.asx.ASXPlaylist;
+import com.bramosystems.oss.player.playlist.client.spf.SPFPlaylist;
+import com.google.gwt.junit.client.GWTTestCase;
+import org.junit.Test;
+
+/**
+ *
+ * @author Sikirulai Braheem <sbraheem at bramosystems dot com>
+ */
+public class TxtPlaylistFactory extends GWTTestCase {
+
+    private static final String XSPF = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<playlist version=\"1\" xmlns=\"http://xspf.org/ns/0/\">"
+            + "  <title>Sample &amp; Test</title>"
+            + "  <trackList>"
+            + "    <track><location>applause.mp3</location><title>Applause</title></track>"
+            + "    <track><location>bunny.mp4</location><location>bunny.ogv</location>"
+            + "      <title><![CDATA[Big <Buck> Bunny]]></title></track>"
+            + "  </trackList>"
+            + "</playlist>";
+    private static final String ASX = "<asx version=\"3.0\">"
+            + "  <title>ASX Test</title>"
+            + "  <entry><title>Entry 1</title><ref href=\"a.wmv\"/><ref href=\"a.asf\"/></entry>"
+            + "  <entry><title>Entry 2</title><ref href=\"b.wmv\"/></entry>"
+            + "</asx>";
+
+    public TxtPlaylistFactory() {
+    }
+
+    @Test
+    public void testParseXspfPlaylist() throws ParseException {
+        System.out.println("parseXspfPlaylist");
+        SPFPlaylist pl = PlaylistFactory.parseXspfPlaylist(XSPF);
+        assertEquals("Sample & Test", pl.getTitle());
+        assertEquals(2, pl.getTracks().length());
+        assertEquals("Big <Buck> Bunny", pl.getTracks().get(1).getTitle());
+        assertEquals(2, pl.getTracks().get(1).getLocation().length());
+    }
+
+    @Test
+    public void testParseXspfPlaylistAsync() {
+        System.out.println("parseXspfPlaylist - async");
+        delayTestFinish(5000);
+        PlaylistFactory.parseXspfPlaylist(XSPF, new ParseCallback<SPFPlaylist>() {
+
+            @Override
+            public void onProgress(SPFPlaylist playlist) {
+            }
+
+            @Override
+            public void onSuccess(SPFPlaylist playlist) {
+                assertEquals(2, playlist.getTracks().length());
+                finishTest();
+            }
+
+            @Override
+            public void onFailure(ParseException exception) {
+                fail(exception.getMessage());
+            }
+        });
+    }
+
+    @Test
+    public void testParseAsxPlaylist() throws ParseException {
+        System.out.println("parseAsxPlaylist");
+        ASXPlaylist pl = PlaylistFactory.parseAsxPlaylist(ASX);
+        assertEquals("ASX Test", pl.getTitle());
+        assertEquals(2, pl.getEntries().size());
+        assertEquals(2, pl.getEntries().get(0).getRefs().size());
+    }
+
+    @Test
+    public void testToPlaylist() throws ParseException {
+        System.out.println("toPlaylist");
+        Playlist p = PlaylistFactory.parseXspfPlaylist(XSPF).toPlaylist();
+        assertEquals("Sample & Test", p.getName());
+        assertEquals(2, p.size());
+        assertSame(p.get(1), p.get(1));
+        assertEquals("bunny.ogv", p.get(1).getResource(1));
+
+        p = PlaylistFactory.parseAsxPlaylist(ASX).toPlaylist();
+        assertEquals(2, p.size());
+        assertEquals("Entry 2", p.get(1).getName());
+        p.remove(0);
+        assertEquals(1, p.size());
+        assertEquals("b.wmv", p.get(0).getResource(0));
+    }
+
+    @Test
+    public void testParseCache() throws ParseException {
+        System.out.println("parse cache");
+        PlaylistFactory.clearCache();
+        SPFPlaylist first = PlaylistFactory.parseXspfPlaylist(XSPF);
+        SPFPlaylist cached = PlaylistFactory.parseXspfPlaylist(XSPF);
+        assertNotSame(first, cached);
+        assertEquals(first.getTitle(), cached.getTitle());
+        assertEquals(first.getTracks().length(), cached.getTracks().length());
+
+        // changes to a returned playlist do not leak into later parses ...
+        cached.setTitle("Changed");
+        assertEquals("Sample & Test", PlaylistFactory.parseXspfPlaylist(XSPF).getTitle());
+        ASXPlaylist asx = PlaylistFactory.parseAsxPlaylist(ASX);
+        asx.setTitle("Changed");
+        assertNotSame(asx, PlaylistFactory.parseAsxPlaylist(ASX));
+        assertEquals("ASX Test", PlaylistFactory.parseAsxPlaylist(ASX).getTitle());
+
+        PlaylistFactory.setCacheSize(0);
+        assertEquals("Sample & Test", PlaylistFactory.parseXspfPlaylist(XSPF).getTitle());
+        PlaylistFactory.setCacheSize(256 * 1024);
+    }
+
+    @Test
+    public void testMalformedPlaylist() {
+        System.out.println("malformed playlist");
+        try {
+            PlaylistFactory.parseXspfPlaylist("<playlist><title>Unclosed</playlist>");
+            fail("ParseException expected");
+        } catch (ParseException ex) {
+        }
+    }
+
+    @Override
+    public String getModuleName() {
+        return "com.bramosystems.oss.player.playlist.Playlist";
+    }
+}
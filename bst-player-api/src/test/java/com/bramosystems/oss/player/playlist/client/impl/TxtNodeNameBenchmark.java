@@ -0,0 +1,121 @@
+/*
+ * Copyright 2011 Sikirulai Braheem <sbraheem at bramosystems.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bramosystems.oss.player.playlist.client.impl;
+
+import com.bramosystems.oss.player.playlist.client.ParseException;
+import com.google.gwt.benchmarks.client.Benchmark;
+import com.google.gwt.benchmarks.client.IntRange;
+import com.google.gwt.benchmarks.client.Operator;
+import com.google.gwt.benchmarks.client.RangeField;
+import com.google.gwt.benchmarks.client.Setup;
+
+/**
+ * Measures the node name dispatch of the playlist handlers on feeds with
+ * many extension elements.
+ *
+ * @author Sikirulai Braheem <sbraheem at bramosystems.com>
+ */
+public class TxtNodeNameBenchmark extends Benchmark {
+
+    private static final String[] NAMES = {"track", "location", "title", "extension",
+        "ex:rating", "ex:artwork", "ex:playcount", "meta", "ex:lastPlayed", "Duration"};
+    private static final NodeNameIndex<Names> index = new NodeNameIndex<Names>(Names.values(), Names.UNKNOWN);
+    final IntRange entries = new IntRange(100, 1000, Operator.ADD, 300);
+    private String feed;
+
+    public TxtNodeNameBenchmark() {
+    }
+
+    public void testValueOfDispatch() {
+    }
+
+    /**
+     * Resolves node names the way the handlers did before the index, an exception
+     * is thrown and caught for each unknown name
+     */
+    public void testValueOfDispatch(@RangeField("entries") Integer count) {
+        for (int i = 0; i < count; i++) {
+            for (String name : NAMES) {
+                try {
+                    Names.valueOf(name.toLowerCase());
+                } catch (IllegalArgumentException e) {
+                }
+            }
+        }
+    }
+
+    public void testIndexedDispatch() {
+    }
+
+    public void testIndexedDispatch(@RangeField("entries") Integer count) {
+        for (int i = 0; i < count; i++) {
+            for (String name : NAMES) {
+                index.get(name);
+            }
+        }
+    }
+
+    public void testParseXspf() {
+    }
+
+    @Setup("setupXspf")
+    public void testParseXspf(@RangeField("entries") Integer count) throws ParseException {
+        new XSPFHandler().getPlaylist(feed);
+    }
+
+    public void setupXspf(Integer count) {
+        StringBuilder sb = new StringBuilder("<playlist version=\"1\" xmlns=\"http://xspf.org/ns/0/\""
+                + " xmlns:ex=\"http://example.com/ns/\"><title>Extensions</title><trackList>");
+        for (int i = 0; i < count; i++) {
+            sb.append("<track><location>track").append(i).append(".mp3</location><title>Track ")
+                    .append(i).append("</title><duration>5000</duration>")
+                    .append("<extension application=\"http://example.com/app\"><ex:rating>5</ex:rating>")
+                    .append("<ex:artwork>cover.jpg</ex:artwork><ex:playcount>3</ex:playcount>")
+                    .append("<ex:lastPlayed>2011-05-08T17:10:47+01:00</ex:lastPlayed></extension>")
+                    .append("<meta rel=\"http://example.com/rel\">value</meta></track>");
+        }
+        feed = sb.append("</trackList></playlist>").toString();
+    }
+
+    public void testParseAsx() {
+    }
+
+    @Setup("setupAsx")
+    public void testParseAsx(@RangeField("entries") Integer count) throws ParseException {
+        new ASXHandler().getPlaylist(feed);
+    }
+
+    public void setupAsx(Integer count) {
+        StringBuilder sb = new StringBuilder("<asx version=\"3.0\" xmlns:ex=\"http://example.com/ns/\">"
+                + "<title>Extensions</title>");
+        for (int i = 0; i < count; i++) {
+            sb.append("<entry><title>Entry ").append(i).append("</title><ref href=\"entry")
+                    .append(i).append(".wmv\"/><ex:rating>5</ex:rating><ex:artwork>cover.jpg</ex:artwork>")
+                    .append("<ex:playcount>3</ex:playcount><banner href=\"banner.gif\"/></entry>");
+        }
+        feed = sb.append("</asx>").toString();
+    }
+
+    @Override
+    public String getModuleName() {
+        return "com.bramosystems.oss.player.playlist.PlaylistBenchmarks";
+    }
+
+    private enum Names {
+
+        playlist, tracklist, track, location, title, duration, extension, meta, UNKNOWN
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2011 Sikirulai Braheem <sbraheem at bramosystems.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bramosystems.oss.player.playlist.client.impl;
+
+import com.bramosystems.oss.player.playlist.client.ParseException;
+import com.google.gwt.junit.client.GWTTestCase;
+import java.util.ArrayList;
+import java.util.HashMap;
+import org.junit.Test;
+
+/**
+ * Checks the attribute view delivered by the SAXParser and the map-based
+ * handler compatibility path
+ *
+ * @author Sikirulai Braheem <sbraheem at bramosystems.com>
+ */
+public class TxtSAXParser extends GWTTestCase {
+
+    private static final String XML = "<asx Version=\"3.0\">"
+            + "<entry clientSkip='no' title=\"Tom &amp; Jerry\">"
+            + "<ref href=\"a.wmv\"/>"
+            + "</entry>"
+            + "<entry/>"
+            + "</asx>";
+
+    public TxtSAXParser() {
+    }
+
+    @Test
+    public void testAttributes() throws ParseException {
+        System.out.println("attributes");
+        final ArrayList<String> found = new ArrayList<String>();
+        new SAXParser(new SAXAttributesHandler() {
+
+            @Override
+            public void onNodeStart(String nodeName, SAXAttributes attr, String namespaceURI) throws ParseException {
+                StringBuilder sb = new StringBuilder(nodeName);
+                for (int i = 0; i < attr.getLength(); i++) {
+                    sb.append(' ').append(attr.getName(i)).append('=').append(attr.getValue(i));
+                }
+                found.add(sb.toString());
+            }
+
+            @Override
+            public void setNodeValue(String nodeName, String value) throws ParseException {
+            }
+
+            @Override
+            public void onNodeEnd(String nodeName) throws ParseException {
+            }
+        }).parse(XML);
+
+        assertEquals(4, found.size());
+        assertEquals("asx Version=3.0", found.get(0));
+        assertEquals("entry clientSkip=no title=Tom & Jerry", found.get(1));
+        assertEquals("ref href=a.wmv", found.get(2));
+        assertEquals("entry", found.get(3));   // the view is cleared per element ...
+    }
+
+    @Test
+    public void testGetValueByName() throws ParseException {
+        System.out.println("getValue by name");
+        final HashMap<String, String> found = new HashMap<String, String>();
+        new SAXParser(new SAXAttributesHandler() {
+
+            @Override
+            public void onNodeStart(String nodeName, SAXAttributes attr, String namespaceURI) throws ParseException {
+                if (nodeName.equals("asx")) {
+                    found.put("version", attr.getValue("version"));
+                    found.put("VERSION", attr.getValue("VERSION"));
+                    found.put("vers", attr.getValue("vers"));
+                } else if (nodeName.equals("entry") && attr.getLength() > 0) {
+                    found.put("clientskip", attr.getValue("CLIENTSKIP"));
+                    found.put("title", attr.getValue("Title"));
+                    try {
+                        attr.getName(attr.getLength());
+                        fail("IndexOutOfBoundsException expected");
+                    } catch (IndexOutOfBoundsException e) {
+                    }
+                }
+            }
+
+            @Override
+            public void setNodeValue(String nodeName, String value) throws ParseException {
+            }
+
+            @Override
+            public void onNodeEnd(String nodeName) throws ParseException {
+            }
+        }).parse(XML);
+
+        assertEquals("3.0", found.get("version"));
+        assertEquals("3.0", found.get("VERSION"));
+        assertTrue(found.containsKey("vers"));
+        assertNull(found.get("vers"));
+        assertEquals("no", found.get("clientskip"));
+        assertEquals("Tom & Jerry", found.get("title"));
+    }
+
+    @Test
+    public void testHandlerAdapter() throws ParseException {
+        System.out.println("SAXHandler adapter");
+        final ArrayList<String> events = new ArrayList<String>();
+        final ArrayList<HashMap<String, String>> maps = new ArrayList<HashMap<String, String>>();
+        new SAXParser(new SAXHandler() {
+
+            @Override
+            public void onNodeStart(String nodeName, HashMap<String, String> attr, String namespaceURI) throws ParseException {
+                events.add("start " + nodeName);
+                maps.add(attr);
+            }
+
+            @Override
+            public void setNodeValue(String nodeName, String value) throws ParseException {
+                events.add("value " + nodeName + " " + value);
+            }
+
+            @Override
+            public void onNodeEnd(String nodeName) throws ParseException {
+                events.add("end " + nodeName);
+            }
+        }).parse("<asx version=\"3.0\"><title>My &lt;list&gt;</title>"
+                + "<entry clientSkip=\"no\"/></asx>");
+
+        assertEquals("start asx", events.get(0));
+        assertEquals("start title", events.get(1));
+        assertEquals("value title My <list>", events.get(2));
+        assertEquals("end title", events.get(3));
+        assertEquals("start entry", events.get(4));
+        assertEquals("end entry", events.get(5));
+        assertEquals("end asx", events.get(6));
+
+        // each element gets its own map, with the attributes as declared ...
+        assertEquals(3, maps.size());
+        assertEquals("3.0", maps.get(0).get("version"));
+        assertTrue(maps.get(1).isEmpty());
+        assertEquals("no", maps.get(2).get("clientSkip"));
+        assertNotSame(maps.get(0), maps.get(2));
+    }
+
+    @Override
+    public String getModuleName() {
+        return "com.bramosystems.oss.player.playlist.Playlist";
+    }
+}
@@ -15,10 +15,11 @@ package com.bramosystems.oss.player.apt;
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-import com.bramosystems.oss.player.core.client.spi.PlayerModule;
-import com.bramosystems.oss.player.core.client.spi.PlayerModules;
+import java.io.BufferedReader;
 import java.io.IOException;
-import java.util.Iterator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -28,21 +29,39 @@ import javax.annotation.processing.RoundEnvironment;
 import javax.annotation.processing.SupportedAnnotationTypes;
 import javax.annotation.processing.SupportedSourceVersion;
 import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
 import javax.tools.FileObject;
 import javax.tools.StandardLocation;
 
 /**
+ * Collates {@code @PlayerModule} names into the AutoInjected module, and indexes
+ * {@code @PlayerProvider} and {@code @Player} types into the player registry read
+ * by the PlayerManagerGenerator.
  *
  * @author sbraheem
  */
-@SupportedAnnotationTypes({"com.bramosystems.oss.player.core.client.spi.PlayerModule",
-    "com.bramosystems.oss.player.core.client.spi.PlayerModules"})
+@SupportedAnnotationTypes({InjectionProcessor.PLAYER_MODULE, InjectionProcessor.PLAYER_MODULES,
+    InjectionProcessor.PLAYER_PROVIDER, InjectionProcessor.PLAYER})
 @SupportedSourceVersion(SourceVersion.RELEASE_6)
 public class InjectionProcessor extends AbstractProcessor {
 
-    private StringBuilder collated;
+    /**
+     * The location of the player registry in the class output
+     */
+    public static final String REGISTRY = "META-INF/bstplayer/player-registry.txt";
+    static final String PLAYER_MODULE = "com.bramosystems.oss.player.core.client.spi.PlayerModule",
+            PLAYER_MODULES = "com.bramosystems.oss.player.core.client.spi.PlayerModules",
+            PLAYER_PROVIDER = "com.bramosystems.oss.player.core.client.spi.PlayerProvider",
+            PLAYER = "com.bramosystems.oss.player.core.client.spi.Player";
+    private static final String MATRIX_SUPPORT = "com.bramosystems.oss.player.core.client.geom.MatrixSupport",
+            PLAYLIST_SUPPORT = "com.bramosystems.oss.player.core.client.PlaylistSupport";
+    private StringBuilder collated, registry;
+    private HashSet<String> registered;
 
     public InjectionProcessor() {
     }
@@ -51,28 +70,44 @@ public class InjectionProcessor extends AbstractProcessor {
     public synchronized void init(ProcessingEnvironment processingEnv) {
         super.init(processingEnv);
         collated = new StringBuilder("<module>\n");
+        registry = new StringBuilder();
+        registered = new HashSet<String>();
     }
 
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
-        Iterator<? extends Element> pms = roundEnv.getElementsAnnotatedWith(PlayerModule.class).iterator();
-        while (pms.hasNext()) {
-            Element e = pms.next();
-            addEntry(e.toString(), e.getAnnotation(PlayerModule.class).value());
-            
-            System.out.println("[Annotated] " + e.toString());
-        }
-
-        pms = roundEnv.getElementsAnnotatedWith(PlayerModules.class).iterator();
-        while (pms.hasNext()) {
-            Element e = pms.next();
-            PlayerModule[] pm = e.getAnnotation(PlayerModules.class).value();
-            for (int i = 0; i < pm.length; i++) {
-                addEntry(e.toString(), pm[i].value());
+        // annotations are matched by name, such that the processor does not depend on the API ...
+        for (TypeElement annotation : annotations) {
+            String name = annotation.getQualifiedName().toString();
+            for (Element e : roundEnv.getElementsAnnotatedWith(annotation)) {
+                AnnotationMirror am = getMirror(e, name);
+                if (name.equals(PLAYER_MODULE)) {
+                    addEntry(e.toString(), (String) getValue(am, "value"));
+                    System.out.println("[Annotated] " + e.toString());
+                } else if (name.equals(PLAYER_MODULES)) {
+                    for (Object pm : (List<?>) getValue(am, "value")) {
+                        addEntry(e.toString(), (String) getValue((AnnotationMirror) ((AnnotationValue) pm).getValue(), "value"));
+                    }
+                } else if (name.equals(PLAYER_PROVIDER)) {
+                    registered.add(((TypeElement) e).getQualifiedName().toString());
+                    registry.append("provider|").append(((TypeElement) e).getQualifiedName()).append('|');
+                    registry.append(getValue(am, "value")).append('\n');
+                } else if (name.equals(PLAYER)) {
+                    addPlayer((TypeElement) e, am);
+                }
             }
         }
 
         if (roundEnv.processingOver()) {
+            mergeRegistry();
+            if (registry.length() > 0) {
+                try {
+                    FileObject f = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", REGISTRY);
+                    f.openWriter().append(registry).close();
+                } catch (IOException ex) {
+                    Logger.getLogger(InjectionProcessor.class.getName()).log(Level.SEVERE, null, ex);
+                }
+            }
             try {
                 collated.append("</module>");
                 FileObject f = processingEnv.getFiler().createResource(StandardLocation.SOURCE_OUTPUT,
@@ -85,6 +120,74 @@ public class InjectionProcessor extends AbstractProcessor {
         return true;
     }
 
+    /**
+     * Adds the entries of the existing registry whose types were not compiled in this run but
+     * are still annotated, such that incremental builds keep the other providers & players
+     */
+    private void mergeRegistry() {
+        BufferedReader in = null;
+        try {
+            FileObject f = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", REGISTRY);
+            in = new BufferedReader(f.openReader(true));
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] e = line.split("\\|");
+                if (e.length > 1 && !registered.contains(e[1])
+                        && isAnnotated(e[1], e[0].equals("provider") ? PLAYER_PROVIDER : PLAYER)) {
+                    registry.append(line).append('\n');
+                }
+            }
+        } catch (IOException ex) {
+            // no registry yet ...
+        } finally {
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException ex) {
+                }
+            }
+        }
+    }
+
+    private boolean isAnnotated(String type, String annotation) {
+        TypeElement te = processingEnv.getElementUtils().getTypeElement(type);
+        return te != null && getMirror(te, annotation) != null;
+    }
+
+    private void addPlayer(TypeElement e, AnnotationMirror am) {
+        registered.add(e.getQualifiedName().toString());
+        String factory = processingEnv.getTypeUtils().erasure((TypeMirror) getValue(am, "providerFactory")).toString();
+        boolean ms = false, ps = false;
+        for (TypeMirror t : e.getInterfaces()) {
+            String name = processingEnv.getTypeUtils().erasure(t).toString();
+            ms |= name.equals(MATRIX_SUPPORT);
+            ps |= name.equals(PLAYLIST_SUPPORT);
+        }
+        registry.append("player|").append(e.getQualifiedName()).append('|').append(getValue(am, "name")).append('|');
+        registry.append(factory).append('|').append(getValue(am, "minPluginVersion")).append('|');
+        registry.append(ps).append('|').append(ms).append('\n');
+    }
+
+    private AnnotationMirror getMirror(Element e, String annotation) {
+        for (AnnotationMirror am : e.getAnnotationMirrors()) {
+            if (((TypeElement) am.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation)) {
+                return am;
+            }
+        }
+        return null;
+    }
+
+    private Object getValue(AnnotationMirror am, String name) {
+        Map<? extends ExecutableElement, ? extends AnnotationValue> values =
+                processingEnv.getElementUtils().getElementValuesWithDefaults(am);
+        for (ExecutableElement key : values.keySet()) {
+            if (key.getSimpleName().contentEquals(name)) {
+                return values.get(key).getValue();
+            }
+        }
+        return null;
+    }
+
     private void addEntry(String pkgName, String moduleName) {
         collated.append("\t").append("<inherits name='").append(pkgName).append(".");
         collated.append(moduleName).append("' />").append("\n");
@@ -21,8 +21,9 @@ import com.bramosystems.oss.player.core.client.spi.ConfigurationContext;
 import com.bramosystems.oss.player.core.client.spi.PlayerElement;
 import com.bramosystems.oss.player.core.client.spi.PlayerProvider;
 import com.bramosystems.oss.player.core.client.spi.PlayerProviderFactory;
-import com.bramosystems.oss.player.core.client.ui.*;
+import com.bramosystems.oss.player.core.client.spi.PlayerWidgetFactory;
 import com.bramosystems.oss.player.util.client.MimeType;
+import com.google.gwt.core.client.GWT;
 import com.google.gwt.core.client.JavaScriptObject;
 import java.util.*;
 
@@ -35,6 +36,14 @@ public class CorePlayerProvider implements PlayerProviderFactory {
 
     private String wmpFFMimeType = "application/x-ms-wmp", wmpAppMimeType = "application/x-mplayer2";
     private ConfigurationContext context;
+    private Widgets widgets = GWT.create(Widgets.class);
+
+    /**
+     * Creates the core players compiled in, players left out through the
+     * {@code bstplayer.players} property are not referenced
+     */
+    public interface Widgets extends PlayerWidgetFactory {
+    }
 
     @Override
     public void init(ConfigurationContext context) {
@@ -44,44 +53,12 @@ public class CorePlayerProvider implements PlayerProviderFactory {
     @Override
     public AbstractMediaPlayer getPlayer(String playerName, String mediaURL, boolean autoplay, String height, String width)
             throws PluginNotFoundException, PluginVersionException {
-        AbstractMediaPlayer player = null;
-        if (playerName.equals(Plugin.DivXPlayer.name())) {
-                player = new DivXPlayer(mediaURL, autoplay, height, width);
-        } else if (playerName.equals(Plugin.FlashPlayer.name())) {
-                player = new FlashMediaPlayer(mediaURL, autoplay, height, width);
-        } else if (playerName.equals(Plugin.Native.name())) {
-                player = new NativePlayer(mediaURL, autoplay, height, width);
-        } else if (playerName.equals(Plugin.QuickTimePlayer.name())) {
-                player = new QuickTimePlayer(mediaURL, autoplay, height, width);
-        } else if (playerName.equals(Plugin.VLCPlayer.name())) {
-                player = new VLCPlayer(mediaURL, autoplay, height, width);
-        } else if (playerName.equals(Plugin.WinMediaPlayer.name())) {
-                player = new WinMediaPlayer(mediaURL, autoplay, height, width);
-        } else {
-                throw new IllegalArgumentException("Unknown player - '" + playerName + "'");
-        }
-        return player;
+        return widgets.getPlayer(playerName, mediaURL, autoplay, height, width);
     }
 
     @Override
     public AbstractMediaPlayer getPlayer(String playerName, String mediaURL, boolean autoplay) throws PluginNotFoundException, PluginVersionException {
-        AbstractMediaPlayer player = null;
-        if (playerName.equals(Plugin.DivXPlayer.name())) {
-                player = new DivXPlayer(mediaURL, autoplay);
-        } else if (playerName.equals(Plugin.FlashPlayer.name())) {
-                player = new FlashMediaPlayer(mediaURL, autoplay);
-        } else if (playerName.equals(Plugin.Native.name())) {
-                player = new NativePlayer(mediaURL, autoplay);
-        } else if (playerName.equals(Plugin.QuickTimePlayer.name())) {
-                player = new QuickTimePlayer(mediaURL, autoplay);
-        } else if (playerName.equals(Plugin.VLCPlayer.name())) {
-                player = new VLCPlayer(mediaURL, autoplay);
-        } else if (playerName.equals(Plugin.WinMediaPlayer.name())) {
-                player = new WinMediaPlayer(mediaURL, autoplay);
-        } else {
-                throw new IllegalArgumentException("Unknown player - '" + playerName + "'");
-        }
-        return player;
+        return widgets.getPlayer(playerName, mediaURL, autoplay);
     }
 
     @Override
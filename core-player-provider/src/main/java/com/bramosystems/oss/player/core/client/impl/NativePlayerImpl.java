@@ -201,42 +201,103 @@ public class NativePlayerImpl extends JavaScriptObject {
     }-*/;
 
     public final native void registerMediaStateHandler(NativePlayerUtil.NativeEventCallback _callback) /*-{
-    this.addEventListener('progress', function(){  // plugin init complete
+    var _codes = {
+    play: 1,            // play started
+    pause: 2,           // play paused
+    ended: 3,           // play finished
+    waiting: 4,         // buffering
+    playing: 5,         // playing again, buffering stopped
+    loadedmetadata: 6,  // metadata available
+    volumechange: 7,    // volume changed
+    loadstart: 10,      // loading started
+    load: 11,           // loading completed
+    error: 12,          // loading error
+    abort: 13,          // loading aborted
+    timeupdate: 14      // play position changed
+    };
+    var _handler = function(evt) {
+    if(evt.type == 'progress') {
     _callback.@com.bramosystems.oss.player.core.client.impl.NativePlayerUtil.NativeEventCallback::onProgressChanged()();
-    }, false);
-    this.addEventListener('play', function(){  // play started
-    _callback.@com.bramosystems.oss.player.core.client.impl.NativePlayerUtil.NativeEventCallback::onStateChanged(I)(1);
-    }, false);
-    this.addEventListener('pause', function(){  // play paused
-    _callback.@com.bramosystems.oss.player.core.client.impl.NativePlayerUtil.NativeEventCallback::onStateChanged(I)(2);
-    }, false);
-    this.addEventListener('ended', function(){  // play finished
-    _callback.@com.bramosystems.oss.player.core.client.impl.NativePlayerUtil.NativeEventCallback::onStateChanged(I)(3);
-    }, false);
-    this.addEventListener('waiting', function(){  // buffering
-    _callback.@com.bramosystems.oss.player.core.client.impl.NativePlayerUtil.NativeEventCallback::onStateChanged(I)(4);
-    }, false);
-    this.addEventListener('playing', function(){  // playing again, buffering stopped
-    _callback.@com.bramosystems.oss.player.core.client.impl.NativePlayerUtil.NativeEventCallback::onStateChanged(I)(5);
-    }, false);
-    this.addEventListener('loadedmetadata', function(){  // metadata available
-    _callback.@com.bramosystems.oss.player.core.client.impl.NativePlayerUtil.NativeEventCallback::onStateChanged(I)(6);
-    }, false);
-    this.addEventListener('volumechange', function(){  // volume changed
-    _callback.@com.bramosystems.oss.player.core.client.impl.NativePlayerUtil.NativeEventCallback::onStateChanged(I)(7);
-    }, false);
-    this.addEventListener('loadstart', function(){  // loading started
-    _callback.@com.bramosystems.oss.player.core.client.impl.NativePlayerUtil.NativeEventCallback::onStateChanged(I)(10);
-    }, false);
-    this.addEventListener('load', function(){  // loading completed
-    _callback.@com.bramosystems.oss.player.core.client.impl.NativePlayerUtil.NativeEventCallback::onStateChanged(I)(11);
-    }, false);
-    this.addEventListener('error', function(){  // loading error
-    _callback.@com.bramosystems.oss.player.core.client.impl.NativePlayerUtil.NativeEventCallback::onStateChanged(I)(12);
-    }, false);
-    this.addEventListener('abort', function(){  // loading aborted
-    _callback.@com.bramosystems.oss.player.core.client.impl.NativePlayerUtil.NativeEventCallback::onStateChanged(I)(13);
-    }, false);
+    } else {
+    _callback.@com.bramosystems.oss.player.core.client.impl.NativePlayerUtil.NativeEventCallback::onStateChanged(I)(_codes[evt.type]);
+    }
+    };
+    this.addEventListener('progress', _handler, false);
+    for(var _type in _codes) {
+    this.addEventListener(_type, _handler, false);
+    }
+    this.__bstCodes = _codes;
+    this.__bstHandler = _handler;
+    }-*/;
+
+    public final native void unregisterMediaStateHandler() /*-{
+    var _handler = this.__bstHandler;
+    if(_handler) {
+    this.removeEventListener('progress', _handler, false);
+    for(var _type in this.__bstCodes) {
+    this.removeEventListener(_type, _handler, false);
+    }
+    this.__bstHandler = null;
+    }
+    }-*/;
+
+    /**
+     * Creates a detached media element like this one, that can be used to preload media
+     * in the background.
+     *
+     * @return the new media element
+     */
+    public final native NativePlayerImpl createStandby() /*-{
+    var _s = $doc.createElement(this.tagName);
+    _s.className = this.className;
+    _s.style.cssText = this.style.cssText;
+    if(this.hasAttribute('width')) {
+    _s.setAttribute('width', this.getAttribute('width'));
+    }
+    if(this.hasAttribute('height')) {
+    _s.setAttribute('height', this.getAttribute('height'));
+    }
+    if(this.hasAttribute('poster')) {
+    _s.setAttribute('poster', this.getAttribute('poster'));
+    }
+    _s.autoplay = false;
+    return _s;
+    }-*/;
+
+    public final native void setPreload(String preload) /*-{
+    this.preload = preload;
+    }-*/;
+
+    /**
+     * Puts the {@code standby} element in place of this element on the page.  The standby
+     * element takes over the ID, the poster and the user settings of this element.
+     *
+     * @param standby the element to show
+     */
+    public final native void replaceWith(NativePlayerImpl standby) /*-{
+    standby.controls = this.controls;
+    standby.volume = this.volume;
+    standby.muted = this.muted;
+    standby.playbackRate = this.playbackRate;
+    if(this.hasAttribute('poster')) {
+    standby.setAttribute('poster', this.getAttribute('poster'));
+    } else {
+    standby.removeAttribute('poster');
+    }
+    var _id = this.id;
+    this.removeAttribute('id');
+    standby.id = _id;
+    this.parentNode.replaceChild(standby, this);
+    }-*/;
+
+    /**
+     * Drops the media resource of this element, releasing its network connection and buffers
+     */
+    public final native void unload() /*-{
+    this.removeAttribute('src');
+    try {
+    this.load();
+    } catch(e) {}
     }-*/;
 
     public static class TimeRange extends JavaScriptObject {
@@ -18,7 +18,6 @@ package com.bramosystems.oss.player.core.client.impl;
 import com.bramosystems.oss.player.core.client.ui.QuickTimePlayer;
 import com.google.gwt.user.client.DOM;
 import com.google.gwt.user.client.Element;
-import com.google.gwt.user.client.Timer;
 import com.google.gwt.user.client.ui.RootPanel;
 
 /**
@@ -44,10 +43,10 @@ public class QTStateManagerIE extends QTStateManager {
 
     @Override
     public void initOnLoad(final String playerId, final QTStateManager.OnLoadHandler onLoadHandler) {
-       Timer tt = new Timer() {
+       PlaybackClock.Task tt = new PlaybackClock.Task(200) {
 
             @Override
-            public void run() {
+            protected boolean run() {
                 QuickTimePlayerImpl impl = QuickTimePlayerImpl.getPlayer(playerId);
                 try {
                     String v = impl.getPluginVersion();
@@ -58,9 +57,11 @@ public class QTStateManagerIE extends QTStateManager {
                     }
                 } catch (Exception e) {
                 }
+                return true;
             }
         };
-        tt.scheduleRepeating(200);  // IE workarround ...
+        tt.setRunWhenHidden(true);
+        tt.start();  // IE workarround ...
     }
     
     @Override
@@ -17,13 +17,13 @@ package com.bramosystems.oss.player.core.client.impl;
 
 import com.bramosystems.oss.player.core.client.*;
 import com.bramosystems.oss.player.core.event.client.PlayStateEvent.State;
-import com.google.gwt.user.client.Timer;
 
 public class VLCStateManager {
 
     protected VLCStateCallback _callback;
     protected VLCPlayerImplCallback _impl;
     private VLCPlaylistManager playlistMgr;
+    private PoollingStateManager stateMgr;
 
     public VLCStateManager() {
     }
@@ -34,12 +34,30 @@ public class VLCStateManager {
         playlistMgr = new VLCPlaylistManager(_impl, _callback);
     }
 
+    /**
+     * Starts tracking the state of the plugin.  The plugin state is polled until the first
+     * native event arrives, state tracking is event driven afterwards.
+     */
     public void registerEventCallbacks() {
         playlistMgr.flushMessageCache();
-        registerEventCallbacksImpl(_impl.getImpl(), _callback);
+        stateMgr = new PoollingStateManager();
+        stateMgr.start();
+        registerEventCallbacksImpl(_impl.getImpl(), stateMgr);
     }
 
     public void close() {
+        if (stateMgr != null) {
+            stateMgr.stop();
+        }
+    }
+
+    /**
+     * Checks if the playback time is reported by native events
+     *
+     * @return {@code true} if time-changed events carry the playback time, {@code false} otherwise
+     */
+    public boolean isTimeTracked() {
+        return stateMgr != null && stateMgr._timeTracked;
     }
 
     public VLCPlaylistManager getPlaylistManager() {
@@ -49,42 +67,109 @@ public class VLCStateManager {
     protected class PoollingStateManager {
 
         private final int POOL_RATE = 300;
-        private int _previousState, _metaDataWaitCount, _previousIndex;
-        private boolean _isBuffering;
-        private Timer _timer;
+        private int _previousState, _previousIndex, _metaDataWaitCount;
+        private boolean _isBuffering, _eventsConfirmed, _timeTracked;
+        private PlaybackClock.Task _timer;
 
         public PoollingStateManager() {
             _previousState = -20;
             _previousIndex = -1;
-            _timer = new Timer() {
+            _timer = new PlaybackClock.Task(POOL_RATE) {
                 @Override
-                public void run() {
-                    checkState();
+                protected boolean run() {
+                    return checkState();
                 }
             };
+            _timer.setRunWhenHidden(true);  // playlists should go on in background tabs ...
         }
 
         public void start() {
-            _timer.scheduleRepeating(POOL_RATE);
+            _timer.start();
         }
 
         public void stop() {
             _timer.cancel();
         }
 
-        private void checkState() {
+        private boolean checkState() {
             int state = _impl.getImpl().getPlayerState();
-            int _index = playlistMgr.getPlaylistIndex();
-
             if (state == _previousState) {
-                if ((_metaDataWaitCount > 0) && (--_metaDataWaitCount <= 0)) {
-                    MediaInfo info = new MediaInfo();
-                    _impl.getImpl().fillMediaInfo(info);
-                    _callback.onMediaInfo(info);
+                if (_metaDataWaitCount > 0) {
+                    fetchMediaInfo();
                 }
+                return _metaDataWaitCount > 0;   // keep the pace while waiting for metadata ...
+            }
+            processState(state);
+            return true;
+        }
+
+        /**
+         * Called by native plugin events with the VLC input state the event stands for
+         */
+        private void onStateEvent(int state) {
+            if (!_eventsConfirmed) {   // native events are working, stop polling ...
+                _eventsConfirmed = true;
+                _timer.cancel();
+                _callback.onInfo("Plugin events active, state polling stopped");
+            }
+            if (state != _previousState) {
+                processState(state);
+            }
+        }
+
+        /**
+         * Called by the native buffering event with the cache fill percentage.  The event is
+         * fired repeatedly while the cache fills, also when rebuffering in the middle of
+         * playback, and is not followed by a playing event in that case.  The input state is
+         * thus left as is.
+         *
+         * @param percent the cache fill percentage, or a negative value if the event does not carry it
+         */
+        private void onBufferingEvent(double percent) {
+            if (percent < 0) {   // nothing to tell when buffering is done, leave it to the state ...
                 return;
             }
+            if (percent < 100) {
+                if (!_isBuffering) {
+                    _isBuffering = true;
+                    _callback.onBuffering(true);
+                }
+            } else if (_isBuffering) {
+                _isBuffering = false;
+                _callback.onBuffering(false);
+            }
+        }
 
+        /**
+         * Called by the native time-changed event
+         *
+         * @param time the playback time or a negative value if the event does not carry it
+         */
+        private void onTimeChanged(double time) {
+            if (time >= 0) {
+                _timeTracked = true;
+                _callback.onTimeChanged(time);
+            }
+            if (_metaDataWaitCount > 0) {   // media length may not be known at the playing transition ...
+                fetchMediaInfo();
+            }
+        }
+
+        /**
+         * Fires the metadata once the media length is known, or anyway after a few attempts
+         * (streams may have no length)
+         */
+        private void fetchMediaInfo() {
+            MediaInfo info = new MediaInfo();
+            _impl.getImpl().fillMediaInfo(info);
+            if (info.getAvailableItems().contains(MediaInfo.MediaInfoKey.Duration) || --_metaDataWaitCount <= 0) {
+                _metaDataWaitCount = 0;
+                _callback.onMediaInfo(info);
+            }
+        }
+
+        private void processState(int state) {
+            int _index = playlistMgr.getPlaylistIndex();
             switch (state) {
                 case -1:   // no input yet...
                     break;
@@ -95,22 +180,23 @@ public class VLCStateManager {
                     _callback.onOpening();
                     break;
                 case 2:    // buffering
-                    _isBuffering = true;
-                    _callback.onBuffering(true);
+                    if (!_isBuffering) {
+                        _isBuffering = true;
+                        _callback.onBuffering(true);
+                    }
                     break;
                 case 3:    // playing
                     if (_isBuffering) {
                         _isBuffering = false;
                         _callback.onBuffering(false);
                     }
-
-                    if (_index != _previousIndex) {
-                        _metaDataWaitCount = 4;  // implement some kind of delay, no extra timers...
-                    }
                     playlistMgr.setCurrentState(State.Started);
                     playlistMgr.setStoppedByUser(false);
                     _callback.onPlaying();
-                    //                    loadingComplete();
+                    if (_index != _previousIndex) {
+                        _metaDataWaitCount = 4;
+                        fetchMediaInfo();
+                    }
                     break;
                 case 4:    // paused
                     playlistMgr.setCurrentState(State.Paused);
@@ -127,12 +213,15 @@ public class VLCStateManager {
                     }
                     break;
                 case 7:    // error
+                    _callback.onError("VLC Player encountered an error");
                     break;
                 default:    // unknown state ...
                     _callback.onInfo("[unknown state] " + state);
             }
             _previousState = state;
-            _previousIndex = _index;
+            if (state == 3) {
+                _previousIndex = _index;
+            }
         }
     }
 
@@ -156,8 +245,9 @@ public class VLCStateManager {
 
         public void onInfo(String message);
 
+        public void onTimeChanged(double time);
+
 //        public void onPositionChanged();
-//        public void onTimeChanged();
 //        public void onMouseGrabed(double x, double y);
 //        public void onForward();
 //        public void onBackward();
@@ -169,43 +259,29 @@ public class VLCStateManager {
         public VLCPlayerImpl getImpl();
     }
 
-    private native void registerEventCallbacksImpl(VLCPlayerImpl player, VLCStateCallback callback) /*-{
+    private native void registerEventCallbacksImpl(VLCPlayerImpl player, PoollingStateManager stateMgr) /*-{
      try {
-     player.addEventListener('MediaPlayerNothingSpecial', function(event) {
-     callback.@com.bramosystems.oss.player.core.client.impl.VLCStateManager.VLCStateCallback::onIdle()();
-     }, false);
-     player.addEventListener('MediaPlayerOpening', function(event) {
-     callback.@com.bramosystems.oss.player.core.client.impl.VLCStateManager.VLCStateCallback::onOpening()();
-     }, false);
-     player.addEventListener('MediaPlayerBuffering', function(event) {
-     //     callback.@com.bramosystems.oss.player.core.client.impl.VLCStateManager.VLCStateCallback::onBuffering()();
-     }, false);
-     player.addEventListener('MediaPlayerPlaying', function(event) {
-     callback.@com.bramosystems.oss.player.core.client.impl.VLCStateManager.VLCStateCallback::onPlaying()();
-     }, false);
-     player.addEventListener('MediaPlayerPaused', function(event) {
-     callback.@com.bramosystems.oss.player.core.client.impl.VLCStateManager.VLCStateCallback::onPaused()();
-     }, false);
-     player.addEventListener('MediaPlayerEndReached', function(event) {
-     callback.@com.bramosystems.oss.player.core.client.impl.VLCStateManager.VLCStateCallback::onEndReached()();
-     }, false);
-     player.addEventListener('MediaPlayerForward', function(event) {
-     //    callback.@com.bramosystems.oss.player.core.client.impl.VLCStateManager.VLCStateCallback::onForward()();
-     }, false);
-     player.addEventListener('MediaPlayerBackward', function(event) {
-     //    callback.@com.bramosystems.oss.player.core.client.impl.VLCStateManager.VLCStateCallback::onBackward()();
-     }, false);
-     player.addEventListener('MediaPlayerEncounteredError', function(event) {
-     //     callback.@com.bramosystems.oss.player.core.client.impl.VLCStateManager.VLCStateCallback::onError()();
-     }, false);
-     player.addEventListener('MediaPlayerTimeChanged', function(event) {
-     //     callback.@com.bramosystems.oss.player.core.client.impl.VLCStateManager.VLCStateCallback::onTimeChanged()();
-     }, false);
-     player.addEventListener('MediaPlayerPositionChanged', function(event) {
-     //     callback.@com.bramosystems.oss.player.core.client.impl.VLCStateManager.VLCStateCallback::onPositionChanged()();
-     }, false);
-     }catch(e){
-     callback.@com.bramosystems.oss.player.core.client.impl.VLCStateManager.VLCStateCallback::onInfo(Ljava/lang/String;)(e.message);
+     var onState = function(state) {
+     return $entry(function() {
+     stateMgr.@com.bramosystems.oss.player.core.client.impl.VLCStateManager.PoollingStateManager::onStateEvent(I)(state);
+     });
+     };
+     player.addEventListener('MediaPlayerNothingSpecial', onState(0), false);
+     player.addEventListener('MediaPlayerOpening', onState(1), false);
+     player.addEventListener('MediaPlayerBuffering', $entry(function(percent) {
+     stateMgr.@com.bramosystems.oss.player.core.client.impl.VLCStateManager.PoollingStateManager::onBufferingEvent(D)(typeof percent == 'number' ? percent : -1);
+     }), false);
+     player.addEventListener('MediaPlayerPlaying', onState(3), false);
+     player.addEventListener('MediaPlayerPaused', onState(4), false);
+     player.addEventListener('MediaPlayerStopped', onState(5), false);
+     player.addEventListener('MediaPlayerEndReached', onState(6), false);
+     player.addEventListener('MediaPlayerEncounteredError', onState(7), false);
+     player.addEventListener('MediaPlayerTimeChanged', $entry(function(time) {
+     // newer plugins pass the time in milliseconds, older ones nothing ...
+     stateMgr.@com.bramosystems.oss.player.core.client.impl.VLCStateManager.PoollingStateManager::onTimeChanged(D)(typeof time == 'number' ? time : -1);
+     }), false);
+     } catch(e) {
+     // no plugin events, keep polling ...
      }
      }-*/;
 }
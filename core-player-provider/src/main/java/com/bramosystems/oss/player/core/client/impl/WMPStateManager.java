@@ -19,9 +19,7 @@ import com.bramosystems.oss.player.core.client.MediaInfo;
 import com.google.gwt.dom.client.Document;
 import com.google.gwt.dom.client.Element;
 import com.google.gwt.dom.client.NativeEvent;
-import com.google.gwt.user.client.Timer;
 import java.util.HashMap;
-import java.util.Iterator;
 
 /**
  * This class handles the events generated by the embedded Windows Media Player.
@@ -32,6 +30,7 @@ import java.util.Iterator;
 public class WMPStateManager {
 
     protected HashMap<String, EventProcessor> cache;
+    private EventProcessor inputSource, stateSource;
 
     @SuppressWarnings({"OverridableMethodCallInConstructor", "LeakingThisInConstructor"})
     WMPStateManager() {
@@ -60,50 +59,116 @@ public class WMPStateManager {
     }
 
     public void close(String playerId) {
-        cache.remove(playerId);
+        EventProcessor ep = cache.remove(playerId);
+        if (ep == inputSource) {
+            inputSource = null;
+        }
+        if (ep == stateSource) {
+            stateSource = null;
+        }
     }
 
     public void stop(String playerId) {
         // do nothing, workaround for webkit implementation...
     }
 
+    /*
+     * The global plugin callbacks below do not identify the plugin that raised the event.
+     * Play state and error events are routed to the player that was last commanded or that
+     * raised the last event, and checked against the other players only if the state of that
+     * player does not match.  Input events are routed to the player with the input focus ...
+     */
     @SuppressWarnings("unused")
-    private void firePlayStateChanged() {
-        Iterator<String> keys = cache.keySet().iterator();
-        while (keys.hasNext()) {
-            cache.get(keys.next()).checkPlayState();
+    private void firePlayStateChanged(int newState) {
+        EventProcessor ep = getStateSource(newState);
+        if (ep != null) {
+            ep.doPlayState(newState);
         }
     }
 
     @SuppressWarnings("unused")
     private void fireError() {
-        Iterator<String> keys = cache.keySet().iterator();
-        while (keys.hasNext()) {
-            String id = keys.next();
-            cache.get(id).checkError();
+        EventProcessor ep = getStateSource(-1);
+        if (ep != null && ep.checkError()) {
+            return;
+        }
+        for (EventProcessor p : cache.values()) {    // not the source, find it ...
+            if (p != ep && p.checkError()) {
+                stateSource = p;
+                break;
+            }
+        }
+    }
+
+    /**
+     * Returns the processor of the player that most likely raised the event.  Falls back to
+     * the last source if no player is in the state, the plugin may have moved past it.
+     *
+     * @param newState the state reported by the event, or {@code -1} to skip the check
+     */
+    private EventProcessor getStateSource(int newState) {
+        if (cache.size() == 1) {
+            return cache.values().iterator().next();
+        }
+        if (newState < 0 || (stateSource != null && stateSource.isInState(newState))) {
+            return stateSource;
         }
+        for (EventProcessor ep : cache.values()) {
+            if (ep != stateSource && ep.isInState(newState)) {
+                stateSource = ep;
+                break;
+            }
+        }
+        return stateSource;
     }
 
     @SuppressWarnings("unused")
     private void fireCMEvents(int type, int button, int shiftState, double fX, double fY) {
-        Iterator<String> keys = cache.keySet().iterator();
-        while (keys.hasNext()) {
-            String id = keys.next();
-            cache.get(id).doClickMouseEvents(type, button, shiftState, fX, fY);
+        EventProcessor ep = getInputSource();
+        if (ep != null) {
+            ep.doClickMouseEvents(type, button, shiftState, fX, fY);
         }
     }
 
     @SuppressWarnings("unused")
     private void fireBuffering(boolean buffering) {
-        Iterator<String> keys = cache.keySet().iterator();
-        while (keys.hasNext()) {
-            cache.get(keys.next()).doBuffering(buffering);
+        boolean routed = false;
+        for (EventProcessor ep : cache.values()) {
+            if (buffering ? ep.isActive() : ep.isBuffering()) {
+                ep.doBuffering(buffering);
+                routed = true;
+            }
+        }
+        if (buffering && !routed) {   // no player known to be active, let all have it ...
+            for (EventProcessor ep : cache.values()) {
+                ep.doBuffering(buffering);
+            }
+        }
+    }
+
+    /**
+     * Returns the processor of the player with the input focus, or that of the only player.
+     * Falls back to the player that had the focus last.
+     */
+    private EventProcessor getInputSource() {
+        EventProcessor ep = cache.get(getFocusedElementId());
+        if (ep == null && cache.size() == 1) {
+            ep = cache.values().iterator().next();
+        }
+        if (ep != null) {
+            inputSource = ep;
         }
+        return inputSource;
     }
 
+    private static native String getFocusedElementId() /*-{
+    var e = $doc.activeElement;
+    return (e && e.id) ? e.id : '';
+    }-*/;
+
     protected native void initGlobalEventListeners(WMPStateManager impl) /*-{
     $wnd.OnDSPlayStateChangeEvt = function(NewState) {
-    impl.@com.bramosystems.oss.player.core.client.impl.WMPStateManager::firePlayStateChanged()();
+    impl.@com.bramosystems.oss.player.core.client.impl.WMPStateManager::firePlayStateChanged(I)(NewState);
     }
     $wnd.OnDSErrorEvt = function() {
     impl.@com.bramosystems.oss.player.core.client.impl.WMPStateManager::fireError()();
@@ -146,8 +211,9 @@ public class WMPStateManager {
 
     public class EventProcessor {
 
-        private boolean enabled;
-        private Timer downloadProgressTimer;
+        private boolean enabled, buffering;
+        private int lastState = -1;
+        private PlaybackClock.Task downloadProgressTimer;
         private String _mURL = "-", _oURL = "";
         private WMPEventCallback _callback;
         private WMPImplCallback _impl;
@@ -156,11 +222,17 @@ public class WMPStateManager {
             _callback = callback;
             _impl = impl;
             enabled = false;
-            downloadProgressTimer = new Timer() {
+            downloadProgressTimer = new PlaybackClock.Task(250) {
+
+                private double progress = -1;
 
                 @Override
-                public void run() {
-                    _callback.onLoadingProgress(_impl.getImpl().getDownloadProgress());
+                protected boolean run() {
+                    double prog = _impl.getImpl().getDownloadProgress();
+                    _callback.onLoadingProgress(prog);
+                    boolean changed = prog != progress;
+                    progress = prog;
+                    return changed;
                 }
             };
         }
@@ -169,17 +241,55 @@ public class WMPStateManager {
             this.enabled = enabled;
         }
 
+        /**
+         * Routes subsequent plugin events to this player, called when the player is commanded
+         */
+        public void expectStateChange() {
+            stateSource = this;
+        }
+
         public void checkPlayState() {
             if (!enabled) {
                 return;
             }
 
             int state = _impl.getImpl().getPlayState();
-            if (state < 0) {
-                return;
+            if (state >= 0) {
+                doPlayState(state);
+            }
+        }
+
+        /**
+         * Processes the state reported by a plugin event
+         */
+        void doPlayState(int state) {
+            if (enabled) {
+                lastState = state;
+                processPlayState(state);
+            }
+        }
+
+        boolean isInState(int state) {
+            return enabled && _impl.getImpl().getPlayState() == state;
+        }
+
+        /**
+         * Checks if the player is opening, buffering or playing media
+         */
+        boolean isActive() {
+            switch (lastState) {
+                case 3:
+                case 6:
+                case 7:
+                case 9:
+                case 11:
+                    return true;
             }
+            return false;
+        }
 
-            processPlayState(state);
+        boolean isBuffering() {
+            return buffering;
         }
 
         public void onError(String message) {
@@ -191,11 +301,12 @@ public class WMPStateManager {
         }
 
         public void doBuffering(boolean buffering) {
+            this.buffering = buffering;
             _callback.onBuffering(buffering);
 
             debug("Buffering " + (buffering ? " started" : " stopped"));
             if (buffering) {
-                downloadProgressTimer.scheduleRepeating(250);
+                downloadProgressTimer.start();
             } else {
                 downloadProgressTimer.cancel();
                 _callback.onLoadingProgress(1.0);
@@ -236,10 +347,20 @@ public class WMPStateManager {
             }
         }
 
-        public void checkError() {
+        /**
+         * Reports the error of the plugin, if any
+         *
+         * @return {@code true} if an error is reported
+         */
+        public boolean checkError() {
             if (enabled) {
-                onError(_impl.getImpl().getErrorDiscription());
+                String err = _impl.getImpl().getErrorDiscription();
+                if (err == null || err.length() > 0) {   // null, the error could not be read ...
+                    onError(err);
+                    return true;
+                }
             }
+            return false;
         }
 
         protected void doMetadata() {
@@ -15,6 +15,8 @@
  */
 package com.bramosystems.oss.player.core.client.impl;
 
+import com.google.gwt.dom.client.Element;
+
 /**
  * IE specific native implementation of the WMPStateManager class. It is not recommended to
  * interact with this class directly.
@@ -39,34 +41,20 @@ public class WMPStateManagerIE extends WMPStateManager {
 
     @Override
     public void registerMediaStateHandlers(WinMediaPlayerImpl player) {
-        registerMediaStateHandlerImpl(this, player);
+        // bind the plugin events to the players' processor, no lookups per event ...
+        registerMediaStateHandlerImpl(cache.get(((Element) player.cast()).getId()), player);
     }
 
-    private native void registerMediaStateHandlerImpl(WMPStateManagerIE impl, WinMediaPlayerImpl player) /*-{
-    player.attachEvent('playStateChange', function(NewState) {
-    impl.@com.bramosystems.oss.player.core.client.impl.WMPStateManagerIE::firePlayStateChanged(Ljava/lang/String;I)(player.id, NewState);
-    });
-    player.attachEvent('buffering', function(Start) {
-    impl.@com.bramosystems.oss.player.core.client.impl.WMPStateManagerIE::fireBuffering(Ljava/lang/String;Z)(player.id, Start);
-    });
-    player.attachEvent('error', function() {
-    impl.@com.bramosystems.oss.player.core.client.impl.WMPStateManagerIE::fireError(Ljava/lang/String;)(player.id);
-    });
-    impl.@com.bramosystems.oss.player.core.client.impl.WMPStateManagerIE::firePlayStateChanged(Ljava/lang/String;I)(player.id, player.playState);
+    private native void registerMediaStateHandlerImpl(WMPStateManager.EventProcessor ep, WinMediaPlayerImpl player) /*-{
+    player.attachEvent('playStateChange', $entry(function(NewState) {
+    ep.@com.bramosystems.oss.player.core.client.impl.WMPStateManager.EventProcessor::processPlayState(I)(NewState);
+    }));
+    player.attachEvent('buffering', $entry(function(Start) {
+    ep.@com.bramosystems.oss.player.core.client.impl.WMPStateManager.EventProcessor::doBuffering(Z)(Start);
+    }));
+    player.attachEvent('error', $entry(function() {
+    ep.@com.bramosystems.oss.player.core.client.impl.WMPStateManager.EventProcessor::checkError()();
+    }));
+    ep.@com.bramosystems.oss.player.core.client.impl.WMPStateManager.EventProcessor::processPlayState(I)(player.playState);
     }-*/;
-
-    @SuppressWarnings("unused")
-    private void firePlayStateChanged(String playerId, int state) {
-        cache.get(playerId).processPlayState(state);
-    }
-
-    @SuppressWarnings("unused")
-    private void fireBuffering(String playerId, boolean buffering) {
-        cache.get(playerId).doBuffering(buffering);
-    }
-
-    @SuppressWarnings("unused")
-    private void fireError(String playerId) {
-        cache.get(playerId).checkError();
-    }
 }
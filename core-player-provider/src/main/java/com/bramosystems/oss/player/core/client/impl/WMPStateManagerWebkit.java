@@ -39,7 +39,7 @@ public class WMPStateManagerWebkit extends WMPStateManager {
     @Override
     public void close(String playerId) {
 //        ((PoolingStateManager) cache.get(playerId)).close();
-        cache.remove(playerId);
+        super.close(playerId);
     }
 
     @Override
@@ -16,6 +16,7 @@
 package com.bramosystems.oss.player.core.client.ui;
 
 import com.bramosystems.oss.player.core.client.ConfigParameter;
+import com.bramosystems.oss.player.core.client.ui.NativePlayer.Preload;
 import com.bramosystems.oss.player.core.client.ui.QuickTimePlayer.Scale;
 import com.bramosystems.oss.player.core.client.ui.WinMediaPlayer.UIMode;
 
@@ -46,7 +47,30 @@ public enum CoreConfigParameter implements ConfigParameter {
      *
      * @see Scale
      */
-    QTScale(Scale.class, Double.class);
+    QTScale(Scale.class, Double.class),
+
+    /**
+     * Parameter for NativePlayers' preload property.
+     *
+     * <p>The preload mode determines how much of the next playlist item is fetched in a
+     * standby media element before the current item finishes.  This parameter requires a
+     * {@linkplain Preload} value type, the default is {@linkplain Preload#Metadata}</p>
+     *
+     * @see #NativePreloadTime
+     * @since 2.0.4
+     */
+    NativePreload(Preload.class),
+
+    /**
+     * Parameter for NativePlayers' preload time.
+     *
+     * <p>The number of seconds before the end of the current playlist item when the next
+     * item starts preloading.  This parameter requires an Integer value type</p>
+     *
+     * @see #NativePreload
+     * @since 2.0.4
+     */
+    NativePreloadTime(Integer.class);
     
     private Class[] valueType;
 
@@ -656,12 +656,24 @@ public class DivXPlayer extends AbstractMediaPlayer implements PlaylistSupport {
         playlistManager.removeFromPlaylist(index);
     }
 
+    @Override
+    public void removeFromPlaylist(int fromIndex, int toIndex) {
+        checkAvailable();
+        playlistManager.removeFromPlaylist(fromIndex, toIndex);
+    }
+
     @Override
     public void clearPlaylist() {
         checkAvailable();
         playlistManager.clearPlaylist();
     }
 
+    @Override
+    public void replacePlaylist(List<MRL> mediaLocators) {
+        checkAvailable();
+        playlistManager.replacePlaylist(mediaLocators);
+    }
+
     @Override
     public void playNext() throws PlayException {
         checkAvailable();
@@ -513,12 +513,26 @@ public class FlashMediaPlayer extends AbstractMediaPlayer implements PlaylistSup
         }
     }
 
+    @Override
+    public void removeFromPlaylist(int fromIndex, int toIndex) {
+        checkAvailable();
+        for (int i = toIndex - 1; i >= fromIndex; i--) {
+            impl.removeFromPlaylist(i);
+        }
+    }
+
     @Override
     public void clearPlaylist() {
         checkAvailable();
         impl.clearPlaylist();
     }
 
+    @Override
+    public void replacePlaylist(List<MRL> mediaLocators) {
+        clearPlaylist();
+        addToPlaylist(mediaLocators);
+    }
+
     @Override
     public int getPlaylistSize() {
         checkAvailable();
@@ -19,11 +19,15 @@ import com.bramosystems.oss.player.core.client.*;
 import com.bramosystems.oss.player.core.client.playlist.MRL;
 import com.bramosystems.oss.player.core.client.MediaInfo.MediaInfoKey;
 import com.bramosystems.oss.player.core.client.playlist.PlaylistManager;
+import com.bramosystems.oss.player.core.client.playlist.SourceRanker;
+import com.bramosystems.oss.player.core.client.impl.CoalescingDispatcher;
 import com.bramosystems.oss.player.core.client.impl.LoopManager;
 import com.bramosystems.oss.player.core.client.impl.NativePlayerImpl;
 import com.bramosystems.oss.player.core.client.impl.NativePlayerUtil;
+import com.bramosystems.oss.player.core.client.impl.plugin.PlayerManager;
 import com.bramosystems.oss.player.core.client.spi.PlayerWidget;
 import com.bramosystems.oss.player.core.client.impl.CorePlayerProvider;
+import com.bramosystems.oss.player.core.event.client.DebugEvent;
 import com.bramosystems.oss.player.core.event.client.MediaInfoEvent;
 import com.bramosystems.oss.player.core.event.client.MediaInfoHandler;
 import com.bramosystems.oss.player.core.event.client.PlayStateEvent;
@@ -33,7 +37,9 @@ import com.google.gwt.i18n.client.NumberFormat;
 import com.google.gwt.user.client.Command;
 import com.google.gwt.user.client.DOM;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Widget to embed media files with HTML 5 video elements in compliant browsers.
@@ -60,14 +66,20 @@ import java.util.List;
 @Player(name = "Native", providerFactory = CorePlayerProvider.class, minPluginVersion = "5.0.0")
 public class NativePlayer extends AbstractMediaPlayer implements PlaylistSupport {
 
+    private static final int POSITION_INTERVAL = 500;
     private NumberFormat volFmt = NumberFormat.getPercentFormat();
-    private NativePlayerImpl impl;
-    private String playerId, _height, _width;
+    private NativePlayerImpl impl, standby;
+    private String playerId, _height, _width, preloadURL;
+    private Preload preload;
+    private int preloadTime;
     private PlayerWidget playerWidget;
     private boolean adjustToVideoSize, isEmbedded, isWasPlaying;
     private LoopManager loopManager;
     private PlaylistManager playlistManager;
     private NativePlayerUtil.NativeEventCallback _callback;
+    private SourceRanker sourceRanker;
+    private CoalescingDispatcher positionDispatcher;
+    private static Set<String> unplayableExtensions;
 
     private NativePlayer() throws PluginNotFoundException {
         if (!PlayerUtil.isHTML5CompliantClient()) {
@@ -76,7 +88,18 @@ public class NativePlayer extends AbstractMediaPlayer implements PlaylistSupport
 
         playerId = DOM.createUniqueId().replace("-", "");
         adjustToVideoSize = false;
+        preload = Preload.Metadata;
+        preloadTime = 10;
         playlistManager = new PlaylistManager(this);
+        sourceRanker = new SourceRanker(getUnplayableExtensions());
+        playlistManager.setSourceRanker(sourceRanker);
+        positionDispatcher = new CoalescingDispatcher(POSITION_INTERVAL) {
+
+            @Override
+            protected void dispatch(double value) {
+                checkPreload();
+            }
+        };
         loopManager = new LoopManager(new LoopManager.LoopCallback() {
 
             @Override
@@ -87,7 +110,9 @@ public class NativePlayer extends AbstractMediaPlayer implements PlaylistSupport
             @Override
             public void onLoopFinished() {
                 isWasPlaying = false;
-                fireDebug("Play finished - " + playlistManager.getPlaylistIndex());
+                if (isDebugEnabled(DebugEvent.MessageType.Info)) {
+                    fireDebug("Play finished - {0}", playlistManager.getPlaylistIndex());
+                }
                 firePlayStateEvent(PlayStateEvent.State.Finished,
                         playlistManager.getPlaylistIndex());
             }
@@ -120,7 +145,9 @@ public class NativePlayer extends AbstractMediaPlayer implements PlaylistSupport
                         isWasPlaying = true;
                         fireDebug("Play started");
                         firePlayStateEvent(PlayStateEvent.State.Started, playlistManager.getPlaylistIndex());
-                        fireDebug("Playing media at '" + impl.getMediaURL() + "'");
+                        if (isDebugEnabled(DebugEvent.MessageType.Info)) {
+                            fireDebug("Playing media at '{0}'", impl.getMediaURL());
+                        }
                         break;
                     case 2: // pause
                         fireDebug("Play paused");
@@ -139,6 +166,7 @@ public class NativePlayer extends AbstractMediaPlayer implements PlaylistSupport
                         firePlayerStateEvent(PlayerStateEvent.State.BufferingFinished);
                         break;
                     case 6: // process metadata
+                        sourceRanker.onLoadSucceeded();
                         fireDebug("Media Metadata available");
                         MediaInfo info = new MediaInfo();
                         impl.fillMediaInfo(info);
@@ -148,11 +176,15 @@ public class NativePlayer extends AbstractMediaPlayer implements PlaylistSupport
                         if (impl.isMute()) {
                             fireDebug("Volume muted");
                         } else {
-                            fireDebug("Volume changed : " + volFmt.format(impl.getVolume()));
+                            if (isDebugEnabled(DebugEvent.MessageType.Info)) {
+                                fireDebug("Volume changed : {0}", volFmt.format(impl.getVolume()));
+                            }
                         }
                         break;
                     case 10: // loading started
-                        fireDebug("Loading '" + impl.getMediaURL() + "'");
+                        if (isDebugEnabled(DebugEvent.MessageType.Info)) {
+                            fireDebug("Loading '{0}'", impl.getMediaURL());
+                        }
                         fireLoadingProgress(0);
                         break;
                     case 11: // loading finished
@@ -160,7 +192,11 @@ public class NativePlayer extends AbstractMediaPlayer implements PlaylistSupport
                         fireLoadingProgress(1.0);
                         break;
                     case 12: // error
-                        switch (MediaError.values()[impl.getErrorState()]) {
+                        MediaError error = MediaError.values()[impl.getErrorState()];
+                        if (error != MediaError.Aborted) {
+                            sourceRanker.onLoadFailed();
+                        }
+                        switch (error) {
                             case Aborted:
                                 fireError("ERROR: Loading aborted!");
                                 break;
@@ -190,6 +226,9 @@ public class NativePlayer extends AbstractMediaPlayer implements PlaylistSupport
                     case 13: // loading aborted
                         fireDebug("Media loading aborted!");
                         break;
+                    case 14: // play position changed
+                        positionDispatcher.post(0);   // the position is read when dispatched ...
+                        break;
                 }
             }
         };
@@ -314,8 +353,113 @@ public class NativePlayer extends AbstractMediaPlayer implements PlaylistSupport
     @Override
     public void loadMedia(String mediaURL) throws LoadException {
         checkAvailable();
-        impl.setMediaURL(mediaURL);
-        impl.load();
+        if (mediaURL.equals(preloadURL) && isStandbyLoadable()) {
+            sourceRanker.onLoadStarted(mediaURL);
+            swapStandby();
+        } else {
+            if (preloadURL != null) {
+                standby.unload();
+            }
+            sourceRanker.onLoadStarted(mediaURL);
+            impl.setMediaURL(mediaURL);
+            impl.load();
+        }
+        preloadURL = null;
+    }
+
+    /**
+     * Returns the registered file extensions that none of the HTML5 mime-types
+     * supported by the browser maps to.
+     */
+    private static Set<String> getUnplayableExtensions() {
+        if (unplayableExtensions == null) {
+            unplayableExtensions = new HashSet<String>();
+            for (String exts : PlayerManager.getInstance().getMimeTypes().values()) {
+                for (String ext : exts.split(",")) {
+                    unplayableExtensions.add(ext.trim().toLowerCase());
+                }
+            }
+            for (String mime : PlayerUtil.getHMTL5MimeTypes()) {
+                for (String ext : PlayerUtil.getMediaExtensions(mime)) {
+                    unplayableExtensions.remove(ext.trim().toLowerCase());
+                }
+            }
+        }
+        return unplayableExtensions;
+    }
+
+    /**
+     * Starts loading the next playlist item in the standby element when the current
+     * item gets to its last {@code preloadTime} seconds.  A full preload waits for the
+     * current item to finish buffering, such that both do not compete for bandwidth.
+     */
+    private void checkPreload() {
+        if ((preload == Preload.None) || (preloadURL != null)
+                || (loopManager.getRepeatMode() == RepeatMode.REPEAT_ONE)) {
+            return;
+        }
+        if (!(impl.getDuration() - impl.getTime() <= preloadTime * 1000)
+                || (preload == Preload.Auto && isBuffering())) {
+            return;
+        }
+
+        String url = playlistManager.getNextItem();
+        if (url != null) {
+            if (standby == null) {
+                standby = impl.createStandby();
+            }
+            if (isDebugEnabled(DebugEvent.MessageType.Info)) {
+                fireDebug("Preloading '{0}'", url);
+            }
+            standby.setPreload(preload == Preload.Auto ? "auto" : "metadata");
+            standby.setMediaURL(url);
+            standby.load();
+            preloadURL = url;
+        }
+    }
+
+    /**
+     * Checks if the current item is still buffering, i.e. its media is not buffered to the end
+     */
+    private boolean isBuffering() {
+        NativePlayerImpl.TimeRange tr = impl.getBuffered();
+        double end = (tr == null) || (tr.getLength() == 0) ? 0 : tr.getEnd(tr.getLength() - 1) * 1000;
+        return end + POSITION_INTERVAL < impl.getDuration();
+    }
+
+    /**
+     * Checks if the standby element has not failed to load its media.  The standby has
+     * no media handlers while it preloads, such that a failure would not be reported again
+     * after the swap.
+     */
+    private boolean isStandbyLoadable() {
+        return standby.getErrorState() == 0
+                && standby.getNetworkState() != 3;   // NETWORK_NO_SOURCE ...
+    }
+
+    /**
+     * Puts the preloaded standby element in place of the current one.  The current
+     * element becomes the next standby.
+     */
+    private void swapStandby() {
+        NativePlayerImpl old = impl;
+        old.unregisterMediaStateHandler();
+        old.replaceWith(standby);
+        impl = standby;
+        impl.registerMediaStateHandler(_callback);
+        standby = old;
+        standby.pause();
+        standby.unload();
+
+        if (isDebugEnabled(DebugEvent.MessageType.Info)) {
+            fireDebug("Loading preloaded media '{0}'", impl.getMediaURL());
+        }
+        // replay the loading events that have fired on the standby ...
+        _callback.onStateChanged(10);
+        if (impl.getReadyState() >= ReadyState.HaveMetadata.ordinal()) {
+            _callback.onProgressChanged();
+            _callback.onStateChanged(6);
+        }
     }
 
     @Override
@@ -454,7 +598,9 @@ public class NativePlayer extends AbstractMediaPlayer implements PlaylistSupport
         if (adjustToVideoSize) {
             if ((vidHeight > 0) && (vidWidth > 0)) {
                 // adjust to video size ...
-                fireDebug("Resizing Player : " + vidWidth + " x " + vidHeight);
+                if (isDebugEnabled(DebugEvent.MessageType.Info)) {
+                    fireDebug("Resizing Player : {0} x {1}", vidWidth, vidHeight);
+                }
                 _w = vidWidth + "px";
                 _h = vidHeight + "px";
             }
@@ -555,12 +701,24 @@ public class NativePlayer extends AbstractMediaPlayer implements PlaylistSupport
         playlistManager.removeFromPlaylist(index);
     }
 
+    @Override
+    public void removeFromPlaylist(int fromIndex, int toIndex) {
+        checkAvailable();
+        playlistManager.removeFromPlaylist(fromIndex, toIndex);
+    }
+
     @Override
     public void clearPlaylist() {
         checkAvailable();
         playlistManager.clearPlaylist();
     }
 
+    @Override
+    public void replacePlaylist(List<MRL> mediaLocators) {
+        checkAvailable();
+        playlistManager.replacePlaylist(mediaLocators);
+    }
+
     @Override
     public void playNext() throws PlayException {
         checkAvailable();
@@ -595,16 +753,50 @@ public class NativePlayer extends AbstractMediaPlayer implements PlaylistSupport
         loopManager.setRepeatMode(mode);
     }
 
+    /**
+     * Sets a configuration parameter of the player.
+     *
+     * <p>The preload parameters, {@link CoreConfigParameter#NativePreload} and
+     * {@link CoreConfigParameter#NativePreloadTime}, apply from the next playlist item.
+     */
     @Override
     public <C extends ConfigParameter> void setConfigParameter(C param, Object value) {
         super.setConfigParameter(param, value);
         if(param.getName().equals(DefaultConfigParameter.BackgroundColor.getName())) {
             
+        } else if (param.getName().equals(CoreConfigParameter.NativePreload.getName())) {
+            preload = (Preload) value;
+        } else if (param.getName().equals(CoreConfigParameter.NativePreloadTime.getName())) {
+            preloadTime = (Integer) value;
         }
     }
     
     
 
+    /**
+     * An enum of preload modes for the next playlist item.
+     *
+     * @see CoreConfigParameter#NativePreload
+     * @since 2.0.4
+     */
+    public static enum Preload implements ConfigValue {
+
+        /**
+         * Do not preload the next item
+         */
+        None,
+        /**
+         * Preload only the metadata of the next item.  This saves the connection and
+         * header parsing time at little bandwidth cost.  This is the default mode
+         */
+        Metadata,
+        /**
+         * Preload as much of the next item as the browser allows, for near-gapless
+         * playback.  Preloading starts once the current item is buffered to the end
+         */
+        Auto;
+    }
+
     private enum NetworkState {
 
         Empty, Idle, Loading, Loaded, NoSource
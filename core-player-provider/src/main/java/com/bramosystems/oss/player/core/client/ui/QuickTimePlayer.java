@@ -135,17 +135,23 @@ public class QuickTimePlayer extends AbstractMediaPlayer implements MatrixSuppor
                             firePlayerStateEvent(PlayerStateEvent.State.BufferingFinished);
                             fireDebug("Buffering ended ...");
                         }
-                        fireDebug("Playing media at " + impl.getMovieURL());
+                        if (isDebugEnabled(DebugEvent.MessageType.Info)) {
+                            fireDebug("Playing media at {0}", impl.getMovieURL());
+                        }
                         firePlayStateEvent(PlayStateEvent.State.Started, playlistManager.getPlaylistIndex());
                         break;
                     case 4: // play finished, notify loop manager ...
                         loopManager.notifyPlayFinished();
                         break;
                     case 5: // player ready ...
-                        fireDebug("Loaded media at " + impl.getMovieURL());
+                        if (isDebugEnabled(DebugEvent.MessageType.Info)) {
+                            fireDebug("Loaded media at {0}", impl.getMovieURL());
+                        }
                         break;
                     case 6: // volume changed ...
-                        fireDebug("Volume changed to " + volFmt.format(impl.getVolume()));
+                        if (isDebugEnabled(DebugEvent.MessageType.Info)) {
+                            fireDebug("Volume changed to {0}", volFmt.format(impl.getVolume()));
+                        }
                         break;
                     case 7: // progress changed ...
                         fireLoadingProgress(impl.getMaxBytesLoaded() / (double) impl.getMovieSize());
@@ -480,7 +486,9 @@ public class QuickTimePlayer extends AbstractMediaPlayer implements MatrixSuppor
         if (resizeToVideoSize) {
             _h = vidHeight > 0 ? vidHeight + "px" : "16px";
             _w = vidWidth > 0 ? vidWidth + "px" : _width;
-            fireDebug("Resizing Player : " + _w + " x " + _h);
+            if (isDebugEnabled(DebugEvent.MessageType.Info)) {
+                fireDebug("Resizing Player : {0} x {1}", _w, _h);
+            }
         }
 
         playerWidget.setSize("100%", _h);
@@ -653,12 +661,24 @@ public class QuickTimePlayer extends AbstractMediaPlayer implements MatrixSuppor
         playlistManager.removeFromPlaylist(index);
     }
 
+    @Override
+    public void removeFromPlaylist(int fromIndex, int toIndex) {
+        checkAvailable();
+        playlistManager.removeFromPlaylist(fromIndex, toIndex);
+    }
+
     @Override
     public void clearPlaylist() {
         checkAvailable();
         playlistManager.clearPlaylist();
     }
 
+    @Override
+    public void replacePlaylist(List<MRL> mediaLocators) {
+        checkAvailable();
+        playlistManager.replacePlaylist(mediaLocators);
+    }
+
     @Override
     public void playNext() throws PlayException {
         checkAvailable();
@@ -66,6 +66,7 @@ public class VLCPlayer extends AbstractMediaPlayer implements PlaylistSupport {
     private String playerId, _width, _height;
     private boolean isEmbedded, autoplay, resizeToVideoSize;
     private LoopManager loopManager;
+    private double position;
 
     private VLCPlayer() throws PluginNotFoundException, PluginVersionException {
         PluginVersion req;
@@ -159,8 +160,14 @@ public class VLCPlayer extends AbstractMediaPlayer implements PlaylistSupport {
                 loopManager.notifyPlayFinished();
             }
 
+            @Override
+            public void onTimeChanged(double time) {
+                position = time;
+            }
+
             @Override
             public void onStopped() {
+                position = 0;
                 firePlayStateEvent(PlayStateEvent.State.Stopped,
                         stateHandler.getPlaylistManager().getPlaylistIndex());
                 fireDebug("Playback stopped");
@@ -313,6 +320,7 @@ public class VLCPlayer extends AbstractMediaPlayer implements PlaylistSupport {
     @Override
     public void loadMedia(String mediaURL) throws LoadException {
         checkAvailable();
+        position = 0;
         stateHandler.getPlaylistManager().clearPlaylist();
         stateHandler.getPlaylistManager().addToPlaylist(mediaURL);
     }
@@ -362,13 +370,14 @@ public class VLCPlayer extends AbstractMediaPlayer implements PlaylistSupport {
     @Override
     public double getPlayPosition() {
         checkAvailable();
-        return impl.getTime();
+        return stateHandler.isTimeTracked() ? position : impl.getTime();
     }
 
     @Override
     public void setPlayPosition(double position) {
         checkAvailable();
         impl.setTime(position);
+        this.position = position;
     }
 
     @Override
@@ -477,12 +486,24 @@ public class VLCPlayer extends AbstractMediaPlayer implements PlaylistSupport {
         stateHandler.getPlaylistManager().removeFromPlaylist(index);
     }
 
+    @Override
+    public void removeFromPlaylist(int fromIndex, int toIndex) {
+        checkAvailable();
+        stateHandler.getPlaylistManager().removeFromPlaylist(fromIndex, toIndex);
+    }
+
     @Override
     public void clearPlaylist() {
         checkAvailable();
         stateHandler.getPlaylistManager().clearPlaylist();
     }
 
+    @Override
+    public void replacePlaylist(List<MRL> mediaLocators) {
+        checkAvailable();
+        stateHandler.getPlaylistManager().replacePlaylist(mediaLocators);
+    }
+
     @Override
     public int getPlaylistSize() {
         checkAvailable();
@@ -295,7 +295,9 @@ public class WinMediaPlayer extends AbstractMediaPlayer implements PlaylistSuppo
     protected final void onLoad() {
         fireDebug("Windows Media Player plugin");
         setupPlayer(false);
-        fireDebug("Plugin Version : " + impl.getPlayerVersion());
+        if (isDebugEnabled(DebugEvent.MessageType.Info)) {
+            fireDebug("Plugin Version : {0}", impl.getPlayerVersion());
+        }
         firePlayerStateEvent(PlayerStateEvent.State.Ready);
         playlistManager._start();
     }
@@ -317,18 +319,21 @@ public class WinMediaPlayer extends AbstractMediaPlayer implements PlaylistSuppo
     @Override
     public void loadMedia(String mediaURL) throws LoadException {
         checkAvailable();
+        eventProcessor.expectStateChange();
         impl.setURL(mediaURL);
     }
 
     @Override
     public void playMedia() throws PlayException {
         checkAvailable();
+        eventProcessor.expectStateChange();
         impl.play();
     }
 
     @Override
     public void stopMedia() {
         checkAvailable();
+        eventProcessor.expectStateChange();
         stateManager.stop(playerId);
         impl.stop();
     }
@@ -336,6 +341,7 @@ public class WinMediaPlayer extends AbstractMediaPlayer implements PlaylistSuppo
     @Override
     public void pauseMedia() {
         checkAvailable();
+        eventProcessor.expectStateChange();
         impl.pause();
     }
 
@@ -368,7 +374,9 @@ public class WinMediaPlayer extends AbstractMediaPlayer implements PlaylistSuppo
         checkAvailable();
         volume *= 100;
         impl.setVolume((int) volume);
-        fireDebug("Volume set to " + ((int) volume) + "%");
+        if (isDebugEnabled(DebugEvent.MessageType.Info)) {
+            fireDebug("Volume set to {0}%", (int) volume);
+        }
     }
 
     private boolean isAvailable() {
@@ -473,7 +481,9 @@ public class WinMediaPlayer extends AbstractMediaPlayer implements PlaylistSuppo
             } else {
                 _h = D__HEIGHT;
             }
-            fireDebug("Resizing Player : " + _w + " x " + _h);
+            if (isDebugEnabled(DebugEvent.MessageType.Info)) {
+                fireDebug("Resizing Player : {0} x {1}", _w, _h);
+            }
         }
 
         // TODO: disable resizing for non-IE browsers for now, unstable with playlists
@@ -665,12 +675,24 @@ public class WinMediaPlayer extends AbstractMediaPlayer implements PlaylistSuppo
         playlistManager.removeFromPlaylist(index);
     }
 
+    @Override
+    public void removeFromPlaylist(int fromIndex, int toIndex) {
+        checkAvailable();
+        playlistManager.removeFromPlaylist(fromIndex, toIndex);
+    }
+
     @Override
     public void clearPlaylist() {
         checkAvailable();
         playlistManager.clearPlaylist();
     }
 
+    @Override
+    public void replacePlaylist(List<MRL> mediaLocators) {
+        checkAvailable();
+        playlistManager.replacePlaylist(mediaLocators);
+    }
+
     @Override
     public void playNext() throws PlayException {
         checkAvailable();
@@ -818,7 +840,9 @@ public class WinMediaPlayer extends AbstractMediaPlayer implements PlaylistSuppo
                 @Override
                 public void load(String url) {
                     impl.setAutoStart(!firstRun);
-                    fireDebug("Loading media @ " + url);
+                    if (isDebugEnabled(DebugEvent.MessageType.Info)) {
+                        fireDebug("Loading media @ {0}", url);
+                    }
                     impl.setURL(url);
                     if (firstRun) {
                         firstRun = false;
@@ -16,7 +16,10 @@
  */
 package com.bramosystems.oss.player.core;
 
+import com.bramosystems.oss.player.core.client.TxtPlayerRegistry;
+import com.bramosystems.oss.player.core.client.TxtPlayerRegistryIndexed;
 import com.bramosystems.oss.player.core.client.TxtPlayerUtil;
+import com.bramosystems.oss.player.core.client.impl.TxtNativePlayerImpl;
 import com.google.gwt.junit.tools.GWTTestSuite;
 import junit.framework.Test;
 
@@ -29,6 +32,9 @@ public class GwtCoreTestSuite extends GWTTestSuite {
     public static Test suite() {
         GWTTestSuite suite = new GWTTestSuite("Test Core Module");
         suite.addTestSuite(TxtPlayerUtil.class);
+        suite.addTestSuite(TxtPlayerRegistry.class);
+        suite.addTestSuite(TxtPlayerRegistryIndexed.class);
+        suite.addTestSuite(TxtNativePlayerImpl.class);
          return suite;
     }
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2013 Sikirulai Braheem <sbraheem at bramosystems.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bramosystems.oss.player.core.client;
+
+import com.google.gwt.junit.client.GWTTestCase;
+import java.util.Arrays;
+import java.util.TreeSet;
+import org.junit.Test;
+
+/**
+ * Checks the providers & players collated by the PlayerManagerGenerator, searching
+ * all types for player providers
+ *
+ * @author Sikirulai Braheem <sbraheem at bramosystems dot com>
+ */
+public class TxtPlayerRegistry extends GWTTestCase {
+
+    public TxtPlayerRegistry() {
+    }
+
+    @Test
+    public void testProviders() {
+        System.out.println("providers");
+        assertTrue(PlayerUtil.getProviders().contains("api"));
+        assertTrue(PlayerUtil.getProviders().contains("core"));
+    }
+
+    @Test
+    public void testPlayers() {
+        System.out.println("players");
+        assertEquals(new TreeSet<String>(Arrays.asList("DivXPlayer", "FlashPlayer", "Native", "QuickTimePlayer",
+                "VLCPlayer", "WinMediaPlayer")), new TreeSet<String>(PlayerUtil.getPlayerNames("core")));
+    }
+
+    @Test
+    public void testPlayerInfo() {
+        System.out.println("player info");
+        PlayerInfo pi = PlayerUtil.getPlayerInfo("core", "FlashPlayer");
+        assertTrue(pi.isHasMatrixSupport());
+        assertTrue(pi.isHasPlaylistSupport());
+
+        pi = PlayerUtil.getPlayerInfo("core", "Native");
+        assertFalse(pi.isHasMatrixSupport());
+        assertTrue(pi.isHasPlaylistSupport());
+        assertEquals(PluginVersion.get(5, 0, 0), pi.getRequiredPluginVersion());
+    }
+
+    @Override
+    public String getModuleName() {
+        return "com.bramosystems.oss.player.core.CorePlayerProvider";
+    }
+}
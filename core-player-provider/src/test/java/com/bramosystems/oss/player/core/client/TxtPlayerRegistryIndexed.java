@@ -0,0 +1,34 @@
+/*
+ * Copyright 2013 Sikirulai Braheem <sbraheem at bramosystems.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bramosystems.oss.player.core.client;
+
+/**
+ * Runs the checks of {@link TxtPlayerRegistry} with the providers & players read from the
+ * registries built by bst-player-apt.  The generator falls back to searching all types if
+ * no registry is found, either way the results should be the same.
+ *
+ * @author Sikirulai Braheem <sbraheem at bramosystems dot com>
+ */
+public class TxtPlayerRegistryIndexed extends TxtPlayerRegistry {
+
+    public TxtPlayerRegistryIndexed() {
+    }
+
+    @Override
+    public String getModuleName() {
+        return "com.bramosystems.oss.player.core.CorePlayerProviderIndexed";
+    }
+}
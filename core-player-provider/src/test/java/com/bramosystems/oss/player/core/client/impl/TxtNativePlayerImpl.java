@@ -0,0 +1,97 @@
+/*
+ * Copyright 2013 Sikirulai Braheem <sbraheem at bramosystems.com>.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.bramosystems.oss.player.core.client.impl;
+
+import com.google.gwt.dom.client.Document;
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.junit.client.GWTTestCase;
+import org.junit.Test;
+
+/**
+ * Checks the standby element swap used by the NativePlayer to preload the next playlist item
+ *
+ * @author Sikirulai Braheem <sbraheem at bramosystems dot com>
+ */
+public class TxtNativePlayerImpl extends GWTTestCase {
+
+    private Element video;
+
+    public TxtNativePlayerImpl() {
+    }
+
+    @Override
+    protected void gwtSetUp() throws Exception {
+        video = Document.get().createElement("video");
+        video.setId("txtNative");
+        video.setClassName("player");
+        video.setAttribute("width", "320");
+        video.setAttribute("poster", "poster.png");
+        Document.get().getBody().appendChild(video);
+    }
+
+    @Override
+    protected void gwtTearDown() throws Exception {
+        Element e = Document.get().getElementById("txtNative");
+        if (e != null) {
+            e.removeFromParent();
+        }
+    }
+
+    @Test
+    public void testCreateStandby() {
+        System.out.println("createStandby");
+        NativePlayerImpl standby = video.<NativePlayerImpl>cast().createStandby();
+        Element e = standby.cast();
+        assertEquals("player", e.getClassName());
+        assertEquals("320", e.getAttribute("width"));
+        assertEquals("poster.png", e.getAttribute("poster"));
+        assertEquals("", e.getId());
+        assertNull(e.getParentElement());
+    }
+
+    @Test
+    public void testReplaceWith() {
+        System.out.println("replaceWith");
+        NativePlayerImpl impl = NativePlayerImpl.getPlayer("txtNative");
+        NativePlayerImpl standby = impl.createStandby();
+        impl.replaceWith(standby);
+
+        Element e = standby.cast();
+        assertSame(e, Document.get().getElementById("txtNative"));
+        assertEquals("poster.png", e.getAttribute("poster"));
+        assertNull(video.getParentElement());
+        assertEquals("", video.getId());
+
+        // swap back, the poster follows the element on the page ...
+        video.removeAttribute("poster");
+        standby.replaceWith(video.<NativePlayerImpl>cast());
+        assertSame(video, Document.get().getElementById("txtNative"));
+        assertEquals("poster.png", video.getAttribute("poster"));
+    }
+
+    @Test
+    public void testUnload() {
+        System.out.println("unload");
+        video.setAttribute("src", "media.ogg");
+        video.<NativePlayerImpl>cast().unload();
+        assertFalse(video.hasAttribute("src"));
+    }
+
+    @Override
+    public String getModuleName() {
+        return "com.bramosystems.oss.player.core.CorePlayerProvider";
+    }
+}
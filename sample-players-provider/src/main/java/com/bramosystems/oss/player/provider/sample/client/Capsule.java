@@ -16,6 +16,7 @@
 package com.bramosystems.oss.player.provider.sample.client;
 
 import com.bramosystems.oss.player.core.client.*;
+import com.bramosystems.oss.player.core.client.impl.PlaybackClock;
 import com.bramosystems.oss.player.core.client.skin.*;
 import com.bramosystems.oss.player.core.client.spi.Player;
 import com.bramosystems.oss.player.core.event.client.*;
@@ -25,7 +26,6 @@ import com.google.gwt.core.client.GWT;
 import com.google.gwt.event.dom.client.ClickEvent;
 import com.google.gwt.event.dom.client.ClickHandler;
 import com.google.gwt.resources.client.CssResource;
-import com.google.gwt.user.client.Timer;
 import com.google.gwt.user.client.ui.*;
 import java.util.ArrayList;
 
@@ -62,7 +62,7 @@ public class Capsule extends CustomAudioPlayer {
     private CapsuleUIResource uiRes;
     private ProgressBar progress;
     private Button play, stop;
-    private Timer playTimer, infoTimer;
+    private PlaybackClock.Task playTimer, infoTimer;
     private PlayState playState;
     private VolumeControl vc;
     private MediaInfo mInfo;
@@ -150,17 +150,23 @@ public class Capsule extends CustomAudioPlayer {
         progress = new ProgressBar();
         progress.setWidth("95%");
 
-        playTimer = new Timer() {
+        playTimer = new PlaybackClock.Task(1000) {
+
+            private double position = -1;
 
             @Override
-            public void run() {
-                progress.setTime(getPlayPosition(), getMediaDuration());
+            protected boolean run() {
+                double pos = getPlayPosition();
+                progress.setTime(pos, getMediaDuration());
+                boolean changed = pos != position;
+                position = pos;
+                return changed;
             }
         };
-        infoTimer = new Timer() {
+        infoTimer = new PlaybackClock.Task(3000) {
 
             @Override
-            public void run() {
+            protected boolean run() {
                 if (mItems.size() > 0) {
                     MediaInfo.MediaInfoKey item = mItems.get(infoIndex);
                     progress.setInfo(item.toString() + ": " + mInfo.getItem(item));
@@ -169,6 +175,7 @@ public class Capsule extends CustomAudioPlayer {
                 } else {
                     cancel();
                 }
+                return true;
             }
 
             @Override
@@ -300,8 +307,8 @@ public class Capsule extends CustomAudioPlayer {
                 play.setEnabled(true);
                 stop.setEnabled(true);
                 vc.setVolume(getVolume());
-                playTimer.scheduleRepeating(1000);
-                infoTimer.scheduleRepeating(3000);
+                playTimer.start();
+                infoTimer.start();
 
                 play.setStylePrimaryName(uiRes.pause());
                 break;
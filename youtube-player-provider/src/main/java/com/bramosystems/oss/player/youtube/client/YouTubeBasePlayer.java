@@ -16,6 +16,7 @@
 package com.bramosystems.oss.player.youtube.client;
 
 import com.bramosystems.oss.player.core.client.*;
+import com.bramosystems.oss.player.core.client.impl.PlaybackClock;
 import com.bramosystems.oss.player.core.event.client.LoadingProgressEvent;
 import com.bramosystems.oss.player.core.event.client.PlayStateEvent;
 import com.bramosystems.oss.player.core.event.client.PlayerStateEvent;
@@ -30,7 +31,6 @@ import com.bramosystems.oss.player.youtube.client.impl.YouTubePlayerProvider;
 import com.google.gwt.core.client.JsArrayString;
 import com.google.gwt.event.shared.HandlerRegistration;
 import com.google.gwt.user.client.DOM;
-import com.google.gwt.user.client.Timer;
 import java.util.ArrayList;
 import java.util.HashMap;
 
@@ -46,7 +46,7 @@ public abstract class YouTubeBasePlayer extends AbstractMediaPlayer {
     protected String playerId, _width, _height, _vid;
     protected HashMap<String, String> configParam = new HashMap<String, String>();
     protected PlayerParameters pParams = new PlayerParameters();
-    private Timer bufferingTimer;
+    private PlaybackClock.Task bufferingTimer;
     private RepeatMode repeatMode = RepeatMode.REPEAT_OFF;
 //    private YouTubePlaylistManager ypm;
 
@@ -102,10 +102,18 @@ public abstract class YouTubeBasePlayer extends AbstractMediaPlayer {
         playerId = DOM.createUniqueId().replace("-", "");
 
         // setup loading event management ...
-        bufferingTimer = new Timer() {
+        bufferingTimer = new PlaybackClock.Task(1000) {
+            private double loaded = -1;
+
             @Override
-            public void run() {
-                LoadingProgressEvent.fire(YouTubeBasePlayer.this, impl.getVideoLoaded());
+            protected boolean run() {
+                double progress = impl.getVideoLoaded();
+                boolean changed = progress != loaded;
+                loaded = progress;
+                if (changed) {
+                    LoadingProgressEvent.fire(YouTubeBasePlayer.this, progress);
+                }
+                return changed;
             }
         };
         addPlayerStateHandler(new PlayerStateHandler() {
@@ -113,7 +121,7 @@ public abstract class YouTubeBasePlayer extends AbstractMediaPlayer {
             public void onPlayerStateChanged(PlayerStateEvent event) {
                 switch (event.getPlayerState()) {
                     case BufferingStarted:
-                        bufferingTimer.scheduleRepeating(1000);
+                        bufferingTimer.start();
                         break;
                     case BufferingFinished:
                         bufferingTimer.cancel();
@@ -88,11 +88,22 @@ public class YouTubePlaylistManager implements PlaylistSupport {
         videoIds.remove(index);
     }
     
+    @Override
+    public void removeFromPlaylist(int fromIndex, int toIndex) {
+        videoIds.subList(fromIndex, toIndex).clear();
+    }
+    
     @Override
     public void clearPlaylist() {
         videoIds.clear();
     }
     
+    @Override
+    public void replacePlaylist(List<MRL> mediaLocators) {
+        videoIds.clear();
+        addToPlaylist(mediaLocators);
+    }
+    
     @Override
     public void addToPlaylist(String mediaURL) {
         if (isYouTubeURL(mediaURL)) {  // URL is complete YouTube video URL